@@ -0,0 +1,98 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.ExpenseDTO;
+import com.quantumsave.quantum_save.dto.IncomeDTO;
+import com.quantumsave.quantum_save.entity.CategoryEntity;
+import com.quantumsave.quantum_save.entity.ExpenseEntity;
+import com.quantumsave.quantum_save.entity.IncomeEntity;
+import com.quantumsave.quantum_save.repository.projection.TransactionView;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic in-memory data shared by the benchmarks (no database, no Spring context).
+ */
+final class BenchmarkFixtures {
+
+    static final LocalDate TODAY = LocalDate.of(2025, 1, 31);
+    static final LocalDateTime NOW = TODAY.atTime(12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    // Merged newest-first rows, alternating income/expense, as the dashboard union returns them
+    static List<TransactionView> transactionRows(int count) {
+        List<TransactionView> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Row(i % 2 == 0 ? "income" : "expense", (long) i, "Transaction " + i, i % 3 == 0 ? null : "icon-" + i,
+                    (long) (i % 8), "Category " + (i % 8), BigDecimal.valueOf(1000 + i, 2), TODAY.minusDays(i / 2),
+                    NOW.minusHours(i), NOW.minusHours(i)));
+        }
+        return rows;
+    }
+
+    static CategoryEntity category(long id, String type) {
+        return CategoryEntity.builder().id(id).name("Category " + id).icon("category-icon-" + id).type(type).build();
+    }
+
+    // Every third row has a blank icon so resolveIcon falls back to the category
+    static List<IncomeEntity> incomeEntities(int count) {
+        CategoryEntity category = category(1L, "income");
+        List<IncomeEntity> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entities.add(IncomeEntity.builder().id((long) i).name("Income " + i).icon(i % 3 == 0 ? "  " : "icon-" + i)
+                    .amount(BigDecimal.valueOf(1000 + i, 2)).date(TODAY.minusDays(i % 28))
+                    .createdAt(NOW).updatedAt(NOW).category(category).build());
+        }
+        return entities;
+    }
+
+    static List<ExpenseEntity> expenseEntities(int count) {
+        CategoryEntity category = category(2L, "expense");
+        List<ExpenseEntity> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entities.add(ExpenseEntity.builder().id((long) i).name("Expense " + i).icon(i % 3 == 0 ? null : "icon-" + i)
+                    .amount(BigDecimal.valueOf(1000 + i, 2)).date(TODAY.minusDays(i % 28))
+                    .createdAt(NOW).updatedAt(NOW).category(category).build());
+        }
+        return entities;
+    }
+
+    static List<IncomeDTO> incomeDTOs(int count) {
+        List<IncomeDTO> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(IncomeDTO.builder().id((long) i).name("Income " + i).categoryName("Category " + (i % 8))
+                    .amount(BigDecimal.valueOf(1000 + i, 2)).date(TODAY.minusDays(i % 28)).build());
+        }
+        return dtos;
+    }
+
+    static List<ExpenseDTO> expenseDTOs(int count) {
+        List<ExpenseDTO> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(ExpenseDTO.builder().id((long) i).name("Expense " + i).categoryName("Category " + (i % 8))
+                    .amount(BigDecimal.valueOf(1000 + i, 2)).date(TODAY.minusDays(i % 28)).build());
+        }
+        return dtos;
+    }
+
+    private record Row(String type, Long id, String name, String icon, Long categoryId, String categoryName,
+                       BigDecimal amount, LocalDate date, LocalDateTime createdAt, LocalDateTime updatedAt)
+            implements TransactionView {
+
+        @Override public String getType() { return type; }
+        @Override public Long getId() { return id; }
+        @Override public String getName() { return name; }
+        @Override public String getIcon() { return icon; }
+        @Override public Long getCategoryId() { return categoryId; }
+        @Override public String getCategoryName() { return categoryName; }
+        @Override public BigDecimal getAmount() { return amount; }
+        @Override public LocalDate getDate() { return date; }
+        @Override public LocalDateTime getCreatedAt() { return createdAt; }
+        @Override public LocalDateTime getUpdatedAt() { return updatedAt; }
+    }
+}
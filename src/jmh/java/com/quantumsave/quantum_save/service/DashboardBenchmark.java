@@ -0,0 +1,100 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.entity.ProfileBalanceEntity;
+import com.quantumsave.quantum_save.repository.projection.TransactionView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard assembly.
+ * assemble: splitting the merged union rows into the dashboard lists (pure CPU/allocation).
+ * sequential vs fanOut: a full cache-miss load against stubbed data sources that sleep latencyMs per statement,
+ * i.e. the request-thread load DashboardService used to do versus its virtual-thread fan-out through SectionScope.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardBenchmark {
+
+    private static final Long PROFILE_ID = 1L;
+    private static final Duration SECTION_TIMEOUT = Duration.ofSeconds(3);
+    // quantum.save.dashboard.fan-out.concurrency-limit
+    private static final Semaphore SECTION_PERMITS = new Semaphore(64);
+
+    @Param({"0", "5"})
+    private int latencyMs;
+
+    private List<TransactionView> rows;
+    private ProfileBalanceEntity balance;
+    private SimpleAsyncTaskExecutor executor;
+
+    @Setup
+    public void setUp() {
+        rows = BenchmarkFixtures.transactionRows(10);
+        balance = ProfileBalanceEntity.builder().profileId(PROFILE_ID)
+                .totalIncome(new BigDecimal("12500.00")).totalExpense(new BigDecimal("8200.50")).build();
+
+        executor = new SimpleAsyncTaskExecutor("dashboard-");
+        executor.setVirtualThreads(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> assemble() {
+        return DashboardAssembler.assemble(PROFILE_ID, rows, balance);
+    }
+
+    @Benchmark
+    public Map<String, Object> sequential() {
+        List<TransactionView> latest = findLatestTransactions();
+        ProfileBalanceEntity ledger = getBalance();
+        return DashboardAssembler.assemble(PROFILE_ID, latest, ledger);
+    }
+
+    // The same SectionScope DashboardService forks its two sections on
+    @Benchmark
+    public Map<String, Object> fanOut() {
+        SectionScope scope = new SectionScope(executor, SECTION_PERMITS, SECTION_TIMEOUT);
+        FutureTask<List<TransactionView>> latestSection = scope.fork(this::findLatestTransactions);
+        FutureTask<ProfileBalanceEntity> balanceSection = scope.fork(this::getBalance);
+        scope.join();
+        return DashboardAssembler.assemble(PROFILE_ID, latestSection.resultNow(), balanceSection.resultNow());
+    }
+
+    // Stubbed data sources: the fixture rows are recent, so a real load stays on the single hot-tier query
+
+    private List<TransactionView> findLatestTransactions() {
+        simulateLatency();
+        return rows;
+    }
+
+    private ProfileBalanceEntity getBalance() {
+        simulateLatency();
+        return balance;
+    }
+
+    private void simulateLatency() {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.ExpenseDTO;
+import com.quantumsave.quantum_save.dto.IncomeDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workbook generation for the Excel email attachments (data already loaded) into a byte array, through the same
+ * ExportWriter the streamed downloads use.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ExcelExportBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private ExportWriter exportWriter;
+    private List<IncomeDTO> incomes;
+    private List<ExpenseDTO> expenses;
+
+    @Setup
+    public void setUp() {
+        incomes = BenchmarkFixtures.incomeDTOs(rows);
+        expenses = BenchmarkFixtures.expenseDTOs(rows);
+        exportWriter = new ExportWriter(100);
+    }
+
+    @Benchmark
+    public byte[] incomeWorkbook() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportWriter.write(ExportFormat.XLSX, incomes.stream(), out, ExportWriter.INCOME_COLUMNS);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] expenseWorkbook() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportWriter.write(ExportFormat.XLSX, expenses.stream(), out, ExportWriter.EXPENSE_COLUMNS);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,73 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.ExpenseDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same expense rows written as XLSX, CSV and gzip CSV into a discarding stream.
+ * The rows and bytes counters are reported as rates: rows/s is the throughput, and bytes ÷ rows is bytes per row.
+ * Run with -prof gc to compare allocation per row.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ExportFormatBenchmark {
+
+    @Param({"XLSX", "CSV", "CSV_GZIP"})
+    private ExportFormat format;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ExportWriter exportWriter;
+    private List<ExpenseDTO> expenses;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Output {
+        public long rows;
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        expenses = BenchmarkFixtures.expenseDTOs(rows);
+        exportWriter = new ExportWriter(100);
+    }
+
+    @Benchmark
+    public long export(Output output) {
+        CountingOutputStream out = new CountingOutputStream();
+        exportWriter.write(format, expenses.stream(), out, ExportWriter.EXPENSE_COLUMNS);
+        output.rows += rows;
+        output.bytes += out.count;
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.ExpenseDTO;
+import com.quantumsave.quantum_save.dto.IncomeDTO;
+import com.quantumsave.quantum_save.entity.ExpenseEntity;
+import com.quantumsave.quantum_save.entity.IncomeEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity -> DTO mapping (toDTO + resolveIcon) for a page of incomes/expenses.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionMappingBenchmark {
+
+    @Param({"100", "1000"})
+    private int rows;
+
+    private List<IncomeEntity> incomes;
+    private List<ExpenseEntity> expenses;
+
+    @Setup
+    public void setUp() {
+        incomes = BenchmarkFixtures.incomeEntities(rows);
+        expenses = BenchmarkFixtures.expenseEntities(rows);
+    }
+
+    @Benchmark
+    public void mapIncomes(Blackhole blackhole) {
+        for (IncomeEntity income : incomes) {
+            IncomeDTO dto = IncomeService.toDTO(income);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void mapExpenses(Blackhole blackhole) {
+        for (ExpenseEntity expense : expenses) {
+            ExpenseDTO dto = ExpenseService.toDTO(expense);
+            blackhole.consume(dto);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.quantumsave.quantum_save.util;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done on every authenticated request (parse + validate) and on every login (generate).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JWTUtilBenchmark {
+
+    private JWTUtil jwtUtil;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JWTUtil(Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes()), 86_400_000L);
+        token = jwtUtil.generateToken(42L, "benchmark@example.com", "Benchmark User");
+        tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+    }
+
+    @Benchmark
+    public Claims parseValidClaims() {
+        return jwtUtil.parseValidClaims(token);
+    }
+
+    @Benchmark
+    public Claims rejectTamperedToken() {
+        return jwtUtil.parseValidClaims(tamperedToken);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "benchmark@example.com", "Benchmark User");
+    }
+}
@@ -0,0 +1,30 @@
+package com.quantumsave.quantum_save.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+
+@Configuration
+public class DashboardExecutorConfig {
+
+    // One virtual thread per dashboard section, without a limit of its own: execute() would block on it with no timeout
+    @Bean
+    public SimpleAsyncTaskExecutor dashboardExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        return executor;
+    }
+
+    // Sections running at once across all loads; keeps a burst of cache misses from draining the connection pool.
+    // SectionScope waits for a permit within the load's timeout
+    @Bean
+    public Semaphore dashboardSectionPermits(
+            @Value("${quantum.save.dashboard.fan-out.concurrency-limit:64}") int concurrencyLimit
+    ) {
+        return new Semaphore(concurrencyLimit);
+    }
+}
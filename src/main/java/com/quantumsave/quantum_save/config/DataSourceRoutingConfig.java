@@ -0,0 +1,84 @@
+package com.quantumsave.quantum_save.config;
+
+import com.quantumsave.quantum_save.config.ReadWriteRoutingDataSource.Target;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Primary/replica split, active only when quantum.save.datasource.replica.url is set (otherwise Boot's single
+ * spring.datasource pool is used as before).
+ * Both pools are Hikari beans named "primary" and "replica", so the hikaricp.* metrics are tagged per pool.
+ * Flyway always migrates through the primary pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "quantum.save.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // Credentials default to the primary's, since managed replicas usually share them
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${quantum.save.datasource.replica.url}") String url,
+            @Value("${quantum.save.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${quantum.save.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${quantum.save.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${quantum.save.datasource.replica.connection-timeout:30s}") Duration connectionTimeout
+    ) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingPolicy replicaRoutingPolicy(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${quantum.save.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${quantum.save.datasource.replica.lag-check-interval:5s}") Duration checkInterval,
+            MeterRegistry meterRegistry
+    ) {
+        return new ReplicaRoutingPolicy(replicaDataSource, maxLag, checkInterval, meterRegistry);
+    }
+
+    // What JPA, JdbcTemplate and the repositories see
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaRoutingPolicy replicaRoutingPolicy,
+            MeterRegistry meterRegistry
+    ) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(replicaRoutingPolicy, meterRegistry);
+        routingDataSource.setTargetDataSources(Map.of(Target.PRIMARY, primaryDataSource, Target.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
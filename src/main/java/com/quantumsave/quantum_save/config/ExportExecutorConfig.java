@@ -0,0 +1,22 @@
+package com.quantumsave.quantum_save.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExportExecutorConfig {
+
+    // Fixed pool for export jobs; ExportJobWorker never claims more jobs than it has threads, so the queue stays empty
+    @Bean
+    public ThreadPoolTaskExecutor exportJobExecutor(
+            @Value("${quantum.save.export.jobs.concurrency:2}") int concurrency
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("export-");
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        return executor;
+    }
+}
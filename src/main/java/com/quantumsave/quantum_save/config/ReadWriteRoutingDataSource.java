@@ -0,0 +1,72 @@
+package com.quantumsave.quantum_save.config;
+
+import com.quantumsave.quantum_save.security.AuthenticatedProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for @Transactional(readOnly = true) work to the replica pool and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for its connection before the
+ * read-only flag is bound to the thread, so the physical connection has to be chosen on first use instead.
+ * Every decision is counted as datasource.routing{target, reason}.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaRoutingPolicy replicaRoutingPolicy;
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter replicaUnavailable;
+    private final Counter recentWrite;
+
+    public ReadWriteRoutingDataSource(ReplicaRoutingPolicy replicaRoutingPolicy, MeterRegistry meterRegistry) {
+        this.replicaRoutingPolicy = replicaRoutingPolicy;
+        this.writes = routingCounter(meterRegistry, Target.PRIMARY, "read-write");
+        this.replicaReads = routingCounter(meterRegistry, Target.REPLICA, "read-only");
+        this.replicaUnavailable = routingCounter(meterRegistry, Target.PRIMARY, "replica-unavailable");
+        this.recentWrite = routingCounter(meterRegistry, Target.PRIMARY, "recent-write");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return Target.PRIMARY;
+        }
+        if (!replicaRoutingPolicy.isReplicaUsable()) {
+            replicaUnavailable.increment();
+            return Target.PRIMARY;
+        }
+        // Read-your-writes: right after a change, this profile's reads stay on the primary until the replica has caught up
+        if (replicaRoutingPolicy.wroteRecently(currentProfileId())) {
+            recentWrite.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    // Helper Methods
+
+    // Scheduled jobs have no authentication, so they are never pinned to the primary
+    private static Long currentProfileId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedProfile principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, Target target, String reason) {
+        return Counter.builder("datasource.routing")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .description("Connections routed to the primary or the replica pool")
+                .register(meterRegistry);
+    }
+}
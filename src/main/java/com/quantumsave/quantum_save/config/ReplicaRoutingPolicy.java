@@ -0,0 +1,92 @@
+package com.quantumsave.quantum_save.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Decides whether read-only work may use the replica.
+ * The replica's replay lag is sampled on a fixed delay; when it exceeds max-lag (or the check fails) reads fall back to
+ * the primary until a later check passes. Profiles that changed data within max-lag plus one check interval also read
+ * from the primary, so a client never sees its own write disappear.
+ * Gauges: datasource.replica.lag (seconds, -1 when the check fails) and datasource.replica.usable (0/1).
+ */
+@Slf4j
+public class ReplicaRoutingPolicy {
+
+    // 0 on a primary or a caught-up standby; otherwise the age of the last replayed transaction
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private final Cache<Long, Boolean> recentWriters;
+
+    private volatile double lagSeconds = 0;
+    private volatile boolean replicaUsable = true;
+
+    public ReplicaRoutingPolicy(DataSource replicaDataSource, Duration maxLag, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.replicaJdbcTemplate.setQueryTimeout((int) Math.max(1, checkInterval.toSeconds()));
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(maxLag.plus(checkInterval))
+                .build();
+        Gauge.builder("datasource.replica.lag", this, policy -> policy.lagSeconds)
+                .baseUnit("seconds")
+                .description("Replica replay lag at the last check")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, policy -> policy.replicaUsable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public boolean wroteRecently(Long profileId) {
+        return profileId != null && recentWriters.getIfPresent(profileId) != null;
+    }
+
+    @Scheduled(fixedDelayString = "${quantum.save.datasource.replica.lag-check-interval:5s}")
+    public void checkLag() {
+        boolean usable;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            lagSeconds = lag != null ? lag : 0;
+            usable = lagSeconds <= maxLag.toMillis() / 1000.0;
+        } catch (RuntimeException e) {
+            lagSeconds = -1;
+            usable = false;
+        }
+        if (usable != replicaUsable) {
+            log.warn("Replica {} (lag {} s)", usable ? "back in rotation" : "taken out of rotation", lagSeconds);
+        }
+        replicaUsable = usable;
+    }
+
+    // After commit: the write is on the primary now, the replica may not have it yet. Runs before the other after-commit
+    // listeners, so their own read-only transactions (e.g. the dashboard stream's totals) already stay on the primary
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileDataChanged(ProfileDataChangedEvent event) {
+        recentWriters.put(event.getProfileId(), Boolean.TRUE);
+    }
+}
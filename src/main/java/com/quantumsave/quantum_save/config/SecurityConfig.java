@@ -1,6 +1,7 @@
 package com.quantumsave.quantum_save.config;
 
 import com.quantumsave.quantum_save.security.JwtRequestFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -56,6 +57,9 @@ public class SecurityConfig {
                         // Preflight
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
+                        // Async re-dispatch of an already authorized request (SSE stream completion)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints (support both with and without /api/v1.0 prefix)
                         .requestMatchers(
                                 "/login", "/register", "/activate", "/resend-verification", "/status", "/health",
@@ -83,8 +87,8 @@ public class SecurityConfig {
         ));
 
         cfg.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        cfg.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept"));
-        cfg.setExposedHeaders(List.of("Content-Disposition"));
+        cfg.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", "If-None-Match"));
+        cfg.setExposedHeaders(List.of("Content-Disposition", "ETag", "X-Next-Cursor"));
 
         // JWT in Authorization header -> no cookies needed
         cfg.setAllowCredentials(false);
@@ -0,0 +1,39 @@
+package com.quantumsave.quantum_save.controller;
+
+import com.quantumsave.quantum_save.dto.BalanceVerificationDTO;
+import com.quantumsave.quantum_save.service.BalanceService;
+import com.quantumsave.quantum_save.service.DashboardCache;
+import com.quantumsave.quantum_save.service.DataVersionService;
+import com.quantumsave.quantum_save.service.ProfileService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/balance")
+public class BalanceController {
+
+    private final BalanceService balanceService;
+    private final ProfileService profileService;
+    private final DashboardCache dashboardCache;
+    private final DataVersionService dataVersionService;
+
+    @GetMapping("/verify")
+    public ResponseEntity<BalanceVerificationDTO> verifyBalance() {
+        Long profileId = profileService.getCurrentProfileId();
+        return ResponseEntity.ok(balanceService.verify(profileId));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<BalanceVerificationDTO> rebuildBalance() {
+        Long profileId = profileService.getCurrentProfileId();
+        balanceService.rebuild(profileId);
+        dashboardCache.invalidate(profileId);
+        dataVersionService.bump(profileId);
+        return ResponseEntity.ok(balanceService.verify(profileId));
+    }
+}
@@ -2,9 +2,12 @@ package com.quantumsave.quantum_save.controller;
 
 import com.quantumsave.quantum_save.dto.CategoryDTO;
 import com.quantumsave.quantum_save.service.CategoryService;
+import com.quantumsave.quantum_save.service.DataVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,6 +18,7 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final DataVersionService dataVersionService;
 
     @PostMapping
     public ResponseEntity<CategoryDTO> saveCategory(@RequestBody CategoryDTO categoryDTO) {
@@ -23,15 +27,22 @@ public class CategoryController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> getCategories() {
-        List<CategoryDTO> categories = categoryService.getCategoriesForCurrentUser();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<CategoryDTO>> getCategories(WebRequest webRequest) {
+        List<CategoryDTO> categories = dataVersionService.readIfModified(webRequest, categoryService::getCategoriesForCurrentUser);
+        if (categories == null) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(categories);
     }
 
     @GetMapping("/{type}")
-    public ResponseEntity<List<CategoryDTO>> getCategoriesByTypeForCurrentUser(@PathVariable String type) {
-        List<CategoryDTO> categories = categoryService.getCategoriesByTypeForCurrentUser(type);
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<CategoryDTO>> getCategoriesByTypeForCurrentUser(@PathVariable String type, WebRequest webRequest) {
+        List<CategoryDTO> categories = dataVersionService.readIfModified(webRequest,
+                () -> categoryService.getCategoriesByTypeForCurrentUser(type));
+        if (categories == null) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(categories);
     }
 
     @PutMapping("/{categoryId}")
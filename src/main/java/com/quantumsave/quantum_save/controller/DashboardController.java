@@ -1,12 +1,21 @@
 package com.quantumsave.quantum_save.controller;
 
 import com.quantumsave.quantum_save.service.DashboardService;
+import com.quantumsave.quantum_save.service.DashboardStreamService;
+import com.quantumsave.quantum_save.service.DataVersionService;
+import com.quantumsave.quantum_save.service.ProfileService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -17,10 +26,31 @@ import java.util.Map;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DataVersionService dataVersionService;
+    private final ProfileService profileService;
+    private final DashboardStreamService dashboardStreamService;
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getDashboardData(){
-        Map<String, Object> dashboardData = dashboardService.getDashboardData();
-        return ResponseEntity.ok(dashboardData);
+    public ResponseEntity<Map<String, Object>> getDashboardData(WebRequest webRequest){
+        // 304 before any dashboard query runs. The same version read picks the cache entry, so a 200's body is always
+        // the one its ETag names
+        Long profileId = profileService.getCurrentProfileId();
+        long version = dataVersionService.currentVersion(profileId);
+        if (webRequest.checkNotModified(dataVersionService.etag(profileId, version))) {
+            return null;
+        }
+        Map<String, Object> dashboardData = dashboardService.getDashboardData(profileId, version);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(dashboardData);
+    }
+
+    // Live deltas (new/deleted transaction + new totals) as server-sent events
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamDashboard() {
+        SseEmitter emitter = dashboardStreamService.openForCurrentUser();
+        if (emitter == null) {
+            // Per-node stream cap reached; the client falls back to polling /dashboard
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+        return ResponseEntity.ok(emitter);
     }
 }
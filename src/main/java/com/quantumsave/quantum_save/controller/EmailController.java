@@ -1,30 +1,45 @@
 package com.quantumsave.quantum_save.controller;
 
-import com.quantumsave.quantum_save.service.EmailExpenseExcelService;
-import com.quantumsave.quantum_save.service.EmailIncomeExcelService;
+import com.quantumsave.quantum_save.dto.ExportJobDTO;
+import com.quantumsave.quantum_save.dto.FilterDTO;
+import com.quantumsave.quantum_save.entity.ExportJobEntity.Delivery;
+import com.quantumsave.quantum_save.service.ExportFormat;
+import com.quantumsave.quantum_save.service.ExportJobService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/email")
 public class EmailController {
 
-    private final EmailIncomeExcelService emailIncomeExcelService;
-    private final EmailExpenseExcelService emailExpenseExcelService;
-
+    private final ExportJobService exportJobService;
 
+    // The current month's report is built and mailed by an export job; the id can be polled on /exports/{id}
     @GetMapping("/income-excel")
-    public ResponseEntity<String> emailIncomeExcel() {
-        emailIncomeExcelService.sendIncomeExcelToCurrentUser();
-        return ResponseEntity.ok("Income details emailed successfully");
+    public ResponseEntity<?> emailIncomeExcel() {
+        return queueReport("income", "Income report queued; it will be emailed shortly");
     }
 
     @GetMapping("/expense-excel")
-    public ResponseEntity<String> emailExpenseExcel() {
-        emailExpenseExcelService.sendExpenseExcelToCurrentUser();
-        return ResponseEntity.ok("Expense details emailed successfully");
+    public ResponseEntity<?> emailExpenseExcel() {
+        return queueReport("expense", "Expense report queued; it will be emailed shortly");
+    }
+
+    // Helper Methods
+    private ResponseEntity<?> queueReport(String type, String message) {
+        FilterDTO filter = new FilterDTO();
+        filter.setType(type);
+        try {
+            ExportJobDTO job = exportJobService.submit(filter, ExportFormat.XLSX, Delivery.EMAIL);
+            return ResponseEntity.accepted().body(Map.of("message", message, "jobId", job.getId()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("message", e.getMessage()));
+        }
     }
 
 }
@@ -1,51 +1,122 @@
 package com.quantumsave.quantum_save.controller;
 
+import com.quantumsave.quantum_save.dto.FilterDTO;
 import com.quantumsave.quantum_save.service.ExcelExportService;
+import com.quantumsave.quantum_save.service.ExportFileCache;
+import com.quantumsave.quantum_save.service.ExportFileCache.CachedFile;
+import com.quantumsave.quantum_save.service.ExportFileCache.VersionedExport;
+import com.quantumsave.quantum_save.service.ExportFormat;
+import com.quantumsave.quantum_save.service.ProfileService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/excel")
 public class ExcelController {
 
+    // Tomcat's sendfile request attributes: when the connector supports it, Tomcat sends the named file itself after the
+    // handler returns (kernel to socket), so cached exports never pass through the heap
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final ExcelExportService excelExportService;
+    private final ExportFileCache exportFileCache;
+    private final ProfileService profileService;
 
+    // The file is written straight to the response on an async thread; the profile is resolved here, on the request thread.
+    // format: xlsx (default), csv or csv.gz. Repeat downloads of unchanged data are served from ExportFileCache
     @GetMapping("/download/income")
-    public ResponseEntity<byte[]> downloadIncomeExcel() {
+    public ResponseEntity<StreamingResponseBody> downloadIncomeExcel(@RequestParam(required = false) String format,
+                                                                     HttpServletRequest request) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        Long profileId = profileService.getCurrentProfileId();
+        String[] cacheRequest = {"month", "income", YearMonth.now().toString(), exportFormat.name()};
 
-        byte[] fileBytes = excelExportService.exportCurrentMonthIncomeExcelForCurrentUser();
+        return download(request, profileId, cacheRequest, "income_details_" + LocalDate.now(), exportFormat,
+                out -> excelExportService.writeCurrentMonthIncomes(profileId, exportFormat, out));
+    }
 
-        String filename = "income_details_" + LocalDate.now() + ".xlsx";
+    @GetMapping("/download/expense")
+    public ResponseEntity<StreamingResponseBody> downloadExpenseExcel(@RequestParam(required = false) String format,
+                                                                      HttpServletRequest request) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        Long profileId = profileService.getCurrentProfileId();
+        String[] cacheRequest = {"month", "expense", YearMonth.now().toString(), exportFormat.name()};
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.parseMediaType(
-                        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
-                ))
-                .body(fileBytes);
+        return download(request, profileId, cacheRequest, "expense_details_" + LocalDate.now(), exportFormat,
+                out -> excelExportService.writeCurrentMonthExpenses(profileId, exportFormat, out));
     }
 
-    @GetMapping("/download/expense")
-    public ResponseEntity<byte[]> downloadExpenseExcel() {
+    // Any range up to quantum.save.export.max-range-months, with the /filter criteria (type, dates, keyword, sort)
+    @PostMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRange(@RequestBody FilterDTO filter,
+                                                             @RequestParam(required = false) String format,
+                                                             HttpServletRequest request) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        excelExportService.checkRangeExport(filter);
+        Long profileId = profileService.getCurrentProfileId();
+        String type = filter.getType().toLowerCase(Locale.ROOT);
+        String baseName = type + "_details_" + filter.getStartDate() + "_" + filter.getEndDate();
+        // Normalized like ExportJobService.submit (no sort field = date), so requests for the same rows share a file
+        String keyword = filter.getKeyword() != null ? filter.getKeyword() : "";
+        String sortField = filter.getSortField() == null || filter.getSortField().isBlank()
+                ? "date" : filter.getSortField().trim().toLowerCase(Locale.ROOT);
+        String sortOrder = "desc".equalsIgnoreCase(filter.getSortOrder()) ? "desc" : "asc";
+        String[] cacheRequest = {"range", type, filter.getStartDate().toString(), filter.getEndDate().toString(),
+                keyword, sortField, sortOrder, exportFormat.name()};
 
-        byte[] fileBytes =
-                excelExportService.exportCurrentMonthExpenseExcelForCurrentUser();
+        return download(request, profileId, cacheRequest, baseName, exportFormat,
+                out -> excelExportService.writeRange(profileId, filter, exportFormat, out));
+    }
+
+    // The streaming return type has no room for the usual { "message": ... } body, so validation errors are mapped here
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidExport(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
 
-        String filename = "expense_details_" + LocalDate.now() + ".xlsx";
+    // Helper Methods
+
+    // A cache hit goes out as a file: through sendfile when Tomcat offers it (the null body makes Spring only write the
+    // headers), otherwise copied on the async thread. A miss runs the export and caches it on the way out
+    private ResponseEntity<StreamingResponseBody> download(HttpServletRequest request, Long profileId,
+                                                           String[] cacheRequest, String baseName, ExportFormat format,
+                                                           VersionedExport export) throws IOException {
+        String filename = baseName + "." + format.getExtension();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(format.getMediaType()));
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.parseMediaType(
-                        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
-                ))
-                .body(fileBytes);
+        Optional<CachedFile> cached = exportFileCache.find(profileId, cacheRequest);
+        if (cached.isEmpty()) {
+            return response.body(exportFileCache.writeThrough(profileId, cacheRequest, export));
+        }
+        CachedFile hit = cached.get();
+        response.contentLength(hit.size());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat only accepts canonical paths
+            request.setAttribute(SENDFILE_FILENAME, hit.file().toFile().getCanonicalPath());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, hit.size());
+            return response.build();
+        }
+        return response.body(out -> Files.copy(hit.file(), out));
     }
 
 }
@@ -3,12 +3,17 @@ package com.quantumsave.quantum_save.controller;
 import com.quantumsave.quantum_save.dto.ApiResponse;
 import com.quantumsave.quantum_save.dto.ExpenseDTO;
 import com.quantumsave.quantum_save.service.ExpenseService;
+import com.quantumsave.quantum_save.service.DataVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
@@ -16,6 +21,7 @@ import java.util.List;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final DataVersionService dataVersionService;
 
     @PostMapping
     public ResponseEntity<ExpenseDTO> addExpense(@RequestBody ExpenseDTO expenseDTO) {
@@ -23,10 +29,25 @@ public class ExpenseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> addExpenses(@RequestBody List<ExpenseDTO> expenseDTOs) {
+        try {
+            List<ExpenseDTO> saved = expenseService.addExpenses(expenseDTOs);
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<ExpenseDTO>> getExpenses() {
-        List<ExpenseDTO> expenses =  expenseService.getCurrentMonthExpensesForCurrentUser();
-        return  ResponseEntity.ok(expenses);
+    public ResponseEntity<List<ExpenseDTO>> getExpenses(WebRequest webRequest) {
+        // The list is "current month", so the month is part of the validator
+        List<ExpenseDTO> expenses = dataVersionService.readIfModified(webRequest,
+                expenseService::getCurrentMonthExpensesForCurrentUser, YearMonth.now().toString());
+        if (expenses == null) {
+            return null;
+        }
+        return  ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(expenses);
     }
 
     @DeleteMapping("/{expenseId}")
@@ -0,0 +1,92 @@
+package com.quantumsave.quantum_save.controller;
+
+import com.quantumsave.quantum_save.dto.ExportJobDTO;
+import com.quantumsave.quantum_save.dto.FilterDTO;
+import com.quantumsave.quantum_save.entity.ExportJobEntity.Delivery;
+import com.quantumsave.quantum_save.service.ExportFormat;
+import com.quantumsave.quantum_save.service.ExportJobService;
+import com.quantumsave.quantum_save.service.ExportJobService.JobResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/exports")
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    // Same body as /excel/export (dates optional: the current month); delivery=email mails the file instead.
+    // 202 with the job; poll its Location until status is SUCCEEDED, then GET .../file
+    @PostMapping
+    public ResponseEntity<?> submitExport(@RequestBody FilterDTO filter,
+                                          @RequestParam(required = false) String format,
+                                          @RequestParam(required = false) String delivery) {
+        try {
+            ExportJobDTO job = exportJobService.submit(filter, ExportFormat.fromParam(format), delivery(delivery));
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}")
+                            .buildAndExpand(job.getId()).toUri())
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobDTO> getExport(@PathVariable UUID id) {
+        return exportJobService.findJobForCurrentUser(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // 409 while the job is not finished (or was emailed), 410 once the file has expired
+    @GetMapping("/{id}/file")
+    public ResponseEntity<?> downloadExport(@PathVariable UUID id) {
+        Optional<JobResult> result = exportJobService.findResultForCurrentUser(id);
+        if (result.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        ExportJobDTO job = result.get().job();
+        if ("EXPIRED".equals(job.getStatus())) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Map.of("message", "Export has expired; submit it again"));
+        }
+        if (result.get().file() == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(job);
+        }
+        if (!Files.isReadable(result.get().file())) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Map.of("message", "Export file is no longer available"));
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFileName() + "\"")
+                .contentType(MediaType.parseMediaType(ExportFormat.fromParam(job.getFormat()).getMediaType()))
+                .body(new FileSystemResource(result.get().file()));
+    }
+
+    // Helper Methods
+    private static Delivery delivery(String value) {
+        if (value == null || value.isBlank()) {
+            return Delivery.DOWNLOAD;
+        }
+        try {
+            return Delivery.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid delivery. Must be 'download' or 'email'");
+        }
+    }
+}
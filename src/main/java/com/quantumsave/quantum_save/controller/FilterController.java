@@ -1,51 +1,47 @@
 package com.quantumsave.quantum_save.controller;
 
-
-import com.quantumsave.quantum_save.dto.ExpenseDTO;
+import com.quantumsave.quantum_save.dto.CursorPageDTO;
 import com.quantumsave.quantum_save.dto.FilterDTO;
-import com.quantumsave.quantum_save.dto.IncomeDTO;
-import com.quantumsave.quantum_save.service.ExpenseService;
-import com.quantumsave.quantum_save.service.IncomeService;
+import com.quantumsave.quantum_save.service.TransactionFilterService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.time.LocalDate;
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/filter")
 public class FilterController {
 
-    private final ExpenseService expenseService;
-    private final IncomeService incomeService;
+    // The body stays a plain list; the cursor for the next page travels in this header
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final TransactionFilterService transactionFilterService;
 
     @PostMapping
     public ResponseEntity<?> filterTransactions(@RequestBody FilterDTO filter) {
-
-        // Validating the data
-        LocalDate startDate = filter.getStartDate() != null ? filter.getStartDate() : LocalDate.MIN;
-        LocalDate endDate = filter.getEndDate() != null ? filter.getEndDate() : LocalDate.now();
-        String keyword = filter.getKeyword() != null ? filter.getKeyword() : "";
-        String sortField = filter.getSortField() != null  ? filter.getSortField() : "date" ;
-        Sort.Direction direction = "desc".equalsIgnoreCase(filter.getSortOrder()) ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Sort sort = Sort.by(direction, sortField);
-
-        if("income".equals(filter.getType())) {
-            List<IncomeDTO> incomes = incomeService.filterIncomes(startDate, endDate, keyword, sort);
-            return ResponseEntity.ok(incomes);
-        } else if("expense".equalsIgnoreCase(filter.getType())) {
-            List<ExpenseDTO> expenses =  expenseService.filterExpenses(startDate, endDate, keyword, sort);
-            return ResponseEntity.ok(expenses);
-        } else {
-            return ResponseEntity.badRequest().body("Invalid filter type. Must be 'income' or 'expense'");
+        try {
+            CursorPageDTO<?> page;
+            if ("income".equals(filter.getType())) {
+                page = transactionFilterService.filterIncomes(filter);
+            } else if ("expense".equalsIgnoreCase(filter.getType())) {
+                page = transactionFilterService.filterExpenses(filter);
+            } else {
+                return ResponseEntity.badRequest().body("Invalid filter type. Must be 'income' or 'expense'");
+            }
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
-
     }
 
 }
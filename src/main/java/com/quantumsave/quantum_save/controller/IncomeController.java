@@ -4,12 +4,17 @@ package com.quantumsave.quantum_save.controller;
 import com.quantumsave.quantum_save.dto.ApiResponse;
 import com.quantumsave.quantum_save.dto.IncomeDTO;
 import com.quantumsave.quantum_save.service.IncomeService;
+import com.quantumsave.quantum_save.service.DataVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 
 @RestController
@@ -18,6 +23,7 @@ import java.util.List;
 public class IncomeController {
 
     private final IncomeService incomeService;
+    private final DataVersionService dataVersionService;
 
     @PostMapping
     public ResponseEntity<IncomeDTO> addIncome(@RequestBody IncomeDTO incomeDTO) {
@@ -25,10 +31,25 @@ public class IncomeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> addIncomes(@RequestBody List<IncomeDTO> incomeDTOs) {
+        try {
+            List<IncomeDTO> saved = incomeService.addIncomes(incomeDTOs);
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<IncomeDTO>> getIncomes() {
-        List<IncomeDTO> incomes =  incomeService.getCurrentMonthIncomesForCurrentUser();
-        return  ResponseEntity.ok(incomes);
+    public ResponseEntity<List<IncomeDTO>> getIncomes(WebRequest webRequest) {
+        // The list is "current month", so the month is part of the validator
+        List<IncomeDTO> incomes = dataVersionService.readIfModified(webRequest,
+                incomeService::getCurrentMonthIncomesForCurrentUser, YearMonth.now().toString());
+        if (incomes == null) {
+            return null;
+        }
+        return  ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(incomes);
     }
 
     @DeleteMapping("/{incomeId}")
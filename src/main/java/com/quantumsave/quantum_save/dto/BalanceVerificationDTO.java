@@ -0,0 +1,22 @@
+package com.quantumsave.quantum_save.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BalanceVerificationDTO {
+
+    private Long profileId;
+    private BigDecimal ledgerIncome;
+    private BigDecimal ledgerExpense;
+    private BigDecimal actualIncome;
+    private BigDecimal actualExpense;
+    private boolean consistent;
+}
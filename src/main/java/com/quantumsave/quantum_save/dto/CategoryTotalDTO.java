@@ -0,0 +1,22 @@
+package com.quantumsave.quantum_save.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CategoryTotalDTO {
+
+    private Long categoryId;
+    private String categoryName;
+    private String icon;
+    private String type;
+    private BigDecimal total;
+    private Long count;
+}
@@ -0,0 +1,21 @@
+package com.quantumsave.quantum_save.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+
+    // Pass back as ?cursor= to get the next page; null when there is nothing left
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,24 @@
+package com.quantumsave.quantum_save.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DashboardDeltaDTO {
+
+    private String type;     // income | expense
+    private String action;   // created | deleted
+    private Long id;
+    private RecentTransactionDTO transaction; // only for created
+    private BigDecimal totalBalance;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private Long version;    // the profile's data version once this change committed
+}
@@ -0,0 +1,33 @@
+package com.quantumsave.quantum_save.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ExportJobDTO {
+
+    private UUID id;
+    private String status;   // QUEUED, RUNNING, SENDING, SUCCEEDED, FAILED or EXPIRED
+    private String delivery; // DOWNLOAD or EMAIL
+    private String type;
+    private String format;   // xlsx, csv or csv.gz
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String keyword;
+    private String fileName;
+    private Long fileSize;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime expiresAt; // Downloads are removed after this
+}
@@ -13,4 +13,6 @@ public class FilterDTO {
     private String keyword;
     private String sortField; // Either by date, amount or name
     private String sortOrder; // Either ascending or descending
+    private String cursor;    // X-Next-Cursor from the previous page; omit for the first page
+    private Integer limit;    // Page size, capped server-side
 }
@@ -0,0 +1,21 @@
+package com.quantumsave.quantum_save.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MonthlyTotalDTO {
+
+    private Integer year;
+    private Integer month;
+    private String type;
+    private BigDecimal total;
+    private Long count;
+}
@@ -0,0 +1,45 @@
+package com.quantumsave.quantum_save.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Cold-tier row in tbl_transactions_archive: an income or expense dated before the archive watermark.
+ * Rows only get here through TransactionArchiveService, which moves them with SQL; the mapping exists for JPQL reads.
+ */
+@Getter
+@NoArgsConstructor
+@Immutable
+@Entity
+@Table(name = "tbl_transactions_archive")
+public class ArchivedTransactionEntity {
+
+    @Id
+    private Long id;
+
+    // "income" or "expense", same values as the discriminator of TransactionEntity
+    @Column(nullable = false, length = 16)
+    private String type;
+
+    private String name;
+    private String icon;
+    private LocalDate date;
+    private BigDecimal amount;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private CategoryEntity category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "profile_id", nullable = false)
+    private ProfileEntity profile;
+}
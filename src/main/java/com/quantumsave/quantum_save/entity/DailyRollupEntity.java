@@ -0,0 +1,52 @@
+package com.quantumsave.quantum_save.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated sum/count per (profile, category, day, type).
+ * Maintained in the same transaction as every income/expense add/delete; analytics read this instead of the fact tables.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(
+        name = "tbl_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_daily_rollups_key",
+                columnNames = {"profile_id", "category_id", "day", "type"}
+        )
+)
+public class DailyRollupEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "profile_id", nullable = false)
+    private Long profileId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    // "income" or "expense", same values as CategoryEntity.type
+    @Column(nullable = false)
+    private String type;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private Long txnCount;
+}
@@ -1,52 +1,13 @@
 package com.quantumsave.quantum_save.entity;
 
-import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.Entity;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
+import lombok.experimental.SuperBuilder;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.UUID;
-
-@Data
-@AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@SuperBuilder
 @Entity
-@Table(name = "tbl_expenses")
-public class ExpenseEntity {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-    private String name;
-    private String icon;
-    private LocalDate date;
-    private BigDecimal amount;
-
-    @Column(updatable = false)
-    @CreationTimestamp
-    private LocalDateTime createdAt;
-    @UpdateTimestamp
-    private LocalDateTime updatedAt;
-
-    @ManyToOne
-    @JoinColumn(name="category_id" , nullable = false)
-    private CategoryEntity category;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name="profile_id" , nullable = false)
-    private ProfileEntity profile;
-
-    @PrePersist
-    public void prePersist(){
-        if(this.date == null){
-            this.date = LocalDate.now();
-        }
-    }
+@DiscriminatorValue("expense")
+public class ExpenseEntity extends TransactionEntity {
 }
@@ -0,0 +1,75 @@
+package com.quantumsave.quantum_save.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One asynchronous export request and its progress. Rows are inserted and claimed with SQL (ExportJobRepository);
+ * the mapping is used for status reads. attempts doubles as a fencing token: a worker only records the outcome of the
+ * attempt it claimed, so a job re-queued after a lost heartbeat cannot be completed twice.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "tbl_export_jobs")
+public class ExportJobEntity {
+
+    public enum Status { QUEUED, RUNNING, SENDING, SUCCEEDED, FAILED, EXPIRED }
+
+    public enum Delivery { DOWNLOAD, EMAIL }
+
+    @Id
+    private UUID id;
+
+    @Column(name = "profile_id", nullable = false)
+    private Long profileId;
+
+    @Column(nullable = false, length = 64)
+    private String requestKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Delivery delivery;
+
+    // "income" or "expense"
+    @Column(nullable = false, length = 16)
+    private String type;
+
+    // ExportFormat name
+    @Column(nullable = false, length = 16)
+    private String format;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    private String keyword;
+    private String sortField;
+    private String sortOrder;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    private Long fileSize;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime heartbeatAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime expiresAt;
+}
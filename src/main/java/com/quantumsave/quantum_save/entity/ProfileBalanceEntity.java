@@ -0,0 +1,37 @@
+package com.quantumsave.quantum_save.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running income/expense totals per profile.
+ * Maintained incrementally by IncomeService/ExpenseService so the dashboard never has to SUM the raw tables.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "tbl_profile_balances")
+public class ProfileBalanceEntity {
+
+    @Id
+    @Column(name = "profile_id")
+    private Long profileId;
+
+    @Column(nullable = false)
+    private BigDecimal totalIncome;
+
+    @Column(nullable = false)
+    private BigDecimal totalExpense;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,27 @@
+package com.quantumsave.quantum_save.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Monotonically increasing per-profile counter, bumped by every income/expense/category mutation.
+ * Read controllers turn it into a strong ETag.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "tbl_profile_data_versions")
+public class ProfileDataVersionEntity {
+
+    @Id
+    @Column(name = "profile_id")
+    private Long profileId;
+
+    @Column(nullable = false)
+    private Long version;
+}
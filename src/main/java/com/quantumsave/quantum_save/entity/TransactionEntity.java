@@ -0,0 +1,61 @@
+package com.quantumsave.quantum_save.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Incomes and expenses share tbl_transactions (single-table inheritance, discriminated by "type"),
+ * so anything spanning both types reads one table through one index instead of merging two.
+ * The discriminator values are the same "income"/"expense" strings the API and the rollups already use.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@SuperBuilder
+@Entity
+@Table(name = "tbl_transactions")
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "type", length = 16)
+public abstract class TransactionEntity {
+
+    @Id
+    // Pooled sequence instead of IDENTITY, so inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tbl_transactions_seq")
+    @SequenceGenerator(name = "tbl_transactions_seq", sequenceName = "tbl_transactions_seq", allocationSize = 50)
+    private Long id;
+    private String name;
+    private String icon;
+    private LocalDate date;
+    private BigDecimal amount;
+
+    // Second key of the (date, created_at, id) seeks, which never match a NULL
+    @Column(updatable = false, nullable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name="category_id" , nullable = false)
+    private CategoryEntity category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name="profile_id" , nullable = false)
+    private ProfileEntity profile;
+
+    @PrePersist
+    public void prePersist(){
+        if(this.date == null){
+            this.date = LocalDate.now();
+        }
+    }
+}
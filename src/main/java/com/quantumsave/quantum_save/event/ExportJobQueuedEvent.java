@@ -0,0 +1,19 @@
+package com.quantumsave.quantum_save.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Published when an export job is queued, so this node's worker can claim it as soon as the insert commits instead of
+ * waiting for its next poll.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ExportJobQueuedEvent {
+
+    private final UUID jobId;
+}
@@ -0,0 +1,32 @@
+package com.quantumsave.quantum_save.event;
+
+import com.quantumsave.quantum_save.dto.RecentTransactionDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by the income/expense/category services whenever a profile's data changes.
+ * Listeners that depend on the change being visible to other transactions must use @TransactionalEventListener.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ProfileDataChangedEvent {
+
+    public enum Source { INCOME, EXPENSE, CATEGORY }
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    private final Long profileId;
+    private final Source source;
+    private final Action action;
+    private final Long entityId;
+
+    // The created transaction, for listeners that push it to clients (null for deletes and category changes)
+    private final RecentTransactionDTO transaction;
+
+    public ProfileDataChangedEvent(Long profileId, Source source, Action action, Long entityId) {
+        this(profileId, source, action, entityId, null);
+    }
+}
@@ -1,20 +1,29 @@
 package com.quantumsave.quantum_save.repository;
 
 import com.quantumsave.quantum_save.entity.CategoryEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<CategoryEntity, Long> {
 
+    // Cached queries hold ids only (rows come from the CategoryEntity region); any write to tbl_categories invalidates them
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<CategoryEntity> findByProfileId(Long profile_id);
 
     Optional<CategoryEntity> findByIdAndProfileId(Long id, Long profile_id);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<CategoryEntity> findByTypeAndProfileId(String type, Long profileId);
 
+    List<CategoryEntity> findByProfileIdAndIdIn(Long profileId, Collection<Long> ids);
+
     Boolean existsByNameAndProfileId(String name, Long profile_id);
 }
@@ -0,0 +1,101 @@
+package com.quantumsave.quantum_save.repository;
+
+import com.quantumsave.quantum_save.dto.CategoryTotalDTO;
+import com.quantumsave.quantum_save.dto.MonthlyTotalDTO;
+import com.quantumsave.quantum_save.dto.PeriodTotalDTO;
+import com.quantumsave.quantum_save.entity.DailyRollupEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyRollupRepository extends JpaRepository<DailyRollupEntity, Long> {
+
+    // Atomic upsert (PostgreSQL ON CONFLICT) so concurrent writers on the same bucket never race on the insert.
+    // The native-spaces hint scopes cache invalidation to this table; without it Hibernate clears every second-level cache region
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_daily_rollups"))
+    @Query(value = """
+            INSERT INTO tbl_daily_rollups (profile_id, category_id, day, type, total, txn_count)
+            VALUES (:profileId, :categoryId, :day, :type, :amount, :count)
+            ON CONFLICT (profile_id, category_id, day, type)
+            DO UPDATE SET total = tbl_daily_rollups.total + EXCLUDED.total,
+                          txn_count = tbl_daily_rollups.txn_count + EXCLUDED.txn_count
+            """, nativeQuery = true)
+    int upsert(@Param("profileId") Long profileId,
+               @Param("categoryId") Long categoryId,
+               @Param("day") LocalDate day,
+               @Param("type") String type,
+               @Param("amount") BigDecimal amount,
+               @Param("count") long count);
+
+    @Modifying
+    @Query("DELETE FROM DailyRollupEntity r WHERE r.profileId = :profileId AND r.categoryId = :categoryId AND r.day = :day AND r.type = :type AND r.txnCount <= 0")
+    int deleteIfEmpty(@Param("profileId") Long profileId,
+                      @Param("categoryId") Long categoryId,
+                      @Param("day") LocalDate day,
+                      @Param("type") String type);
+
+    @Modifying
+    @Query("DELETE FROM DailyRollupEntity r WHERE r.profileId = :profileId")
+    int deleteByProfileId(@Param("profileId") Long profileId);
+
+    // Backfill: re-derive every bucket of one profile from both transaction tiers in one grouped scan
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_daily_rollups"))
+    @Query(value = """
+            INSERT INTO tbl_daily_rollups (profile_id, category_id, day, type, total, txn_count)
+            SELECT t.profile_id, t.category_id, t.date, t.type, SUM(t.amount), COUNT(*)
+              FROM (SELECT h.profile_id, h.category_id, h.date, h.type, h.amount
+                      FROM tbl_transactions h
+                     WHERE h.profile_id = :profileId
+                    UNION ALL
+                    SELECT a.profile_id, a.category_id, a.date, a.type, a.amount
+                      FROM tbl_transactions_archive a
+                     WHERE a.profile_id = :profileId) t
+             GROUP BY t.profile_id, t.category_id, t.date, t.type
+            """, nativeQuery = true)
+    int insertFromFactTables(@Param("profileId") Long profileId);
+
+    // Month-level rollups are derived from the daily buckets
+    @Query("""
+            SELECT new com.quantumsave.quantum_save.dto.MonthlyTotalDTO(year(r.day), month(r.day), r.type, SUM(r.total), SUM(r.txnCount))
+              FROM DailyRollupEntity r
+             WHERE r.profileId = :profileId AND r.day BETWEEN :startDate AND :endDate
+             GROUP BY year(r.day), month(r.day), r.type
+             ORDER BY year(r.day), month(r.day), r.type
+            """)
+    List<MonthlyTotalDTO> findMonthlyTotals(@Param("profileId") Long profileId,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    @Query("""
+            SELECT new com.quantumsave.quantum_save.dto.CategoryTotalDTO(r.categoryId, c.name, c.icon, r.type, SUM(r.total), SUM(r.txnCount))
+              FROM DailyRollupEntity r
+              JOIN CategoryEntity c ON c.id = r.categoryId
+             WHERE r.profileId = :profileId AND r.type = :type AND r.day BETWEEN :startDate AND :endDate
+             GROUP BY r.categoryId, c.name, c.icon, r.type
+             ORDER BY SUM(r.total) DESC
+            """)
+    List<CategoryTotalDTO> findCategoryTotals(@Param("profileId") Long profileId,
+                                              @Param("type") String type,
+                                              @Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
+
+    @Query("""
+            SELECT new com.quantumsave.quantum_save.dto.PeriodTotalDTO(r.type, SUM(r.total), SUM(r.txnCount))
+              FROM DailyRollupEntity r
+             WHERE r.profileId = :profileId AND r.day BETWEEN :startDate AND :endDate
+             GROUP BY r.type
+            """)
+    List<PeriodTotalDTO> findPeriodTotals(@Param("profileId") Long profileId,
+                                          @Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+}
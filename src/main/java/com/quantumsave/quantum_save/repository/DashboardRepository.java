@@ -0,0 +1,88 @@
+package com.quantumsave.quantum_save.repository;
+
+import com.quantumsave.quantum_save.entity.TransactionEntity;
+import com.quantumsave.quantum_save.repository.projection.TransactionView;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Dedicated read path for /dashboard.
+ * Native PostgreSQL because the latest-N-per-type union has no derived-query equivalent; aliases are quoted to keep their case.
+ */
+public interface DashboardRepository extends Repository<TransactionEntity, Long> {
+
+    // Latest N incomes + latest N expenses (with category name/icon) in one round trip, already merged newest first.
+    // Each branch is a short backward scan of idx_transactions_profile_type_date, so a rare type never walks the other one's rows
+    @Query(value = """
+            (SELECT t.type AS "type", t.id AS "id", t.name AS "name",
+                    COALESCE(NULLIF(TRIM(t.icon), ''), NULLIF(TRIM(c.icon), '')) AS "icon",
+                    c.id AS "categoryId", c.name AS "categoryName",
+                    t.amount AS "amount", t.date AS "date", t.created_at AS "createdAt", t.updated_at AS "updatedAt"
+               FROM tbl_transactions t
+               JOIN tbl_categories c ON c.id = t.category_id
+              WHERE t.profile_id = :profileId AND t.type = 'income'
+              ORDER BY t.date DESC, t.created_at DESC, t.id DESC
+              LIMIT :limit)
+            UNION ALL
+            (SELECT t.type AS "type", t.id AS "id", t.name AS "name",
+                    COALESCE(NULLIF(TRIM(t.icon), ''), NULLIF(TRIM(c.icon), '')) AS "icon",
+                    c.id AS "categoryId", c.name AS "categoryName",
+                    t.amount AS "amount", t.date AS "date", t.created_at AS "createdAt", t.updated_at AS "updatedAt"
+               FROM tbl_transactions t
+               JOIN tbl_categories c ON c.id = t.category_id
+              WHERE t.profile_id = :profileId AND t.type = 'expense'
+              ORDER BY t.date DESC, t.created_at DESC, t.id DESC
+              LIMIT :limit)
+            ORDER BY "date" DESC, "createdAt" DESC, "id" DESC
+            """, nativeQuery = true)
+    List<TransactionView> findLatestTransactions(@Param("profileId") Long profileId, @Param("limit") int limit);
+
+    // Same rows when a profile's latest N of a type reach below the archive watermark: each type is read from both tiers,
+    // and since the outer ORDER BY has no limit the caller keeps the first N of each type
+    @Query(value = """
+            (SELECT t.type AS "type", t.id AS "id", t.name AS "name",
+                    COALESCE(NULLIF(TRIM(t.icon), ''), NULLIF(TRIM(c.icon), '')) AS "icon",
+                    c.id AS "categoryId", c.name AS "categoryName",
+                    t.amount AS "amount", t.date AS "date", t.created_at AS "createdAt", t.updated_at AS "updatedAt"
+               FROM tbl_transactions t
+               JOIN tbl_categories c ON c.id = t.category_id
+              WHERE t.profile_id = :profileId AND t.type = 'income'
+              ORDER BY t.date DESC, t.created_at DESC, t.id DESC
+              LIMIT :limit)
+            UNION ALL
+            (SELECT t.type AS "type", t.id AS "id", t.name AS "name",
+                    COALESCE(NULLIF(TRIM(t.icon), ''), NULLIF(TRIM(c.icon), '')) AS "icon",
+                    c.id AS "categoryId", c.name AS "categoryName",
+                    t.amount AS "amount", t.date AS "date", t.created_at AS "createdAt", t.updated_at AS "updatedAt"
+               FROM tbl_transactions_archive t
+               JOIN tbl_categories c ON c.id = t.category_id
+              WHERE t.profile_id = :profileId AND t.type = 'income'
+              ORDER BY t.date DESC, t.created_at DESC, t.id DESC
+              LIMIT :limit)
+            UNION ALL
+            (SELECT t.type AS "type", t.id AS "id", t.name AS "name",
+                    COALESCE(NULLIF(TRIM(t.icon), ''), NULLIF(TRIM(c.icon), '')) AS "icon",
+                    c.id AS "categoryId", c.name AS "categoryName",
+                    t.amount AS "amount", t.date AS "date", t.created_at AS "createdAt", t.updated_at AS "updatedAt"
+               FROM tbl_transactions t
+               JOIN tbl_categories c ON c.id = t.category_id
+              WHERE t.profile_id = :profileId AND t.type = 'expense'
+              ORDER BY t.date DESC, t.created_at DESC, t.id DESC
+              LIMIT :limit)
+            UNION ALL
+            (SELECT t.type AS "type", t.id AS "id", t.name AS "name",
+                    COALESCE(NULLIF(TRIM(t.icon), ''), NULLIF(TRIM(c.icon), '')) AS "icon",
+                    c.id AS "categoryId", c.name AS "categoryName",
+                    t.amount AS "amount", t.date AS "date", t.created_at AS "createdAt", t.updated_at AS "updatedAt"
+               FROM tbl_transactions_archive t
+               JOIN tbl_categories c ON c.id = t.category_id
+              WHERE t.profile_id = :profileId AND t.type = 'expense'
+              ORDER BY t.date DESC, t.created_at DESC, t.id DESC
+              LIMIT :limit)
+            ORDER BY "date" DESC, "createdAt" DESC, "id" DESC
+            """, nativeQuery = true)
+    List<TransactionView> findLatestTransactionsAcrossTiers(@Param("profileId") Long profileId, @Param("limit") int limit);
+}
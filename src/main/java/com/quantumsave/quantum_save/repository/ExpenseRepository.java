@@ -1,36 +1,77 @@
 package com.quantumsave.quantum_save.repository;
 
+import com.quantumsave.quantum_save.dto.ExpenseDTO;
 import com.quantumsave.quantum_save.entity.ExpenseEntity;
-import org.springframework.data.domain.Sort;
+import com.quantumsave.quantum_save.repository.projection.IdNameView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ExpenseRepository extends JpaRepository<ExpenseEntity,Long> {
 
+    @EntityGraph(attributePaths = "category")
     List<ExpenseEntity> findByProfileIdOrderByDateDesc(Long profileId);
 
+    @EntityGraph(attributePaths = "category")
     List<ExpenseEntity> findTop5ByProfileIdOrderByDateDesc(Long profileId);
 
     @Query("SELECT SUM(e.amount) FROM ExpenseEntity e WHERE e.profile.id= :profileId")
     BigDecimal findTotalExpenseByProfileId(@Param("profileId")Long profileId);
 
-    List<ExpenseEntity> findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(
-            Long profileId,
-            LocalDate startDate,
-            LocalDate endDate,
-            String keyword,
-            Sort sort);
-
+    @EntityGraph(attributePaths = "category")
     List<ExpenseEntity> findByProfileIdAndDateBetween(
             Long profileId,
             LocalDate startDate,
             LocalDate endDate
     );
 
+    @EntityGraph(attributePaths = "category")
     List<ExpenseEntity> findByProfileIdAndDate(Long profileId, LocalDate date);
+
+    // Read-only list rows: category joined in the same statement, mapped straight into DTOs (no entity hydration or dirty checking)
+    @Query("""
+            SELECT new com.quantumsave.quantum_save.dto.ExpenseDTO(
+                   e.id, e.name, COALESCE(NULLIF(TRIM(e.icon), ''), NULLIF(TRIM(c.icon), '')),
+                   c.name, c.id, e.amount, e.date, e.createdAt, e.updatedAt)
+              FROM ExpenseEntity e JOIN e.category c
+             WHERE e.profile.id = :profileId AND e.date BETWEEN :startDate AND :endDate
+            """)
+    List<ExpenseDTO> findDTOsByProfileIdAndDateBetween(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // Same rows as findDTOsByProfileIdAndDateBetween, read through a cursor in idx_transactions_profile_type_date order (no sort step).
+    // DTO rows are never managed, so consuming any number of them leaves the persistence context empty
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new com.quantumsave.quantum_save.dto.ExpenseDTO(
+                   e.id, e.name, COALESCE(NULLIF(TRIM(e.icon), ''), NULLIF(TRIM(c.icon), '')),
+                   c.name, c.id, e.amount, e.date, e.createdAt, e.updatedAt)
+              FROM ExpenseEntity e JOIN e.category c
+             WHERE e.profile.id = :profileId AND e.date BETWEEN :startDate AND :endDate
+             ORDER BY e.date, e.createdAt, e.id
+            """)
+    Stream<ExpenseDTO> streamDTOsByProfileIdAndDateBetween(
+            @Param("profileId") Long profileId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // Source rows for the name search index
+    @Query("SELECT e.id AS id, e.name AS name FROM ExpenseEntity e WHERE e.profile.id = :profileId")
+    List<IdNameView> findIdAndNameByProfileId(@Param("profileId") Long profileId);
 }
@@ -0,0 +1,184 @@
+package com.quantumsave.quantum_save.repository;
+
+import com.quantumsave.quantum_save.entity.ExportJobEntity;
+import com.quantumsave.quantum_save.entity.ExportJobEntity.Status;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * State changes of export jobs are single SQL statements guarded by the expected status (and, for a worker's outcome,
+ * the attempt it claimed), so nodes racing on the same row cannot overwrite each other. All times are database time.
+ */
+public interface ExportJobRepository extends JpaRepository<ExportJobEntity, UUID> {
+
+    Optional<ExportJobEntity> findByIdAndProfileId(UUID id, Long profileId);
+
+    Optional<ExportJobEntity> findFirstByProfileIdAndRequestKeyAndStatusIn(Long profileId, String requestKey,
+                                                                           Collection<Status> statuses);
+
+    long countByProfileIdAndStatusIn(Long profileId, Collection<Status> statuses);
+
+    // Queues the job unless an equal request of the profile is already in flight (returns 0 then)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_export_jobs"))
+    @Query(value = """
+            INSERT INTO tbl_export_jobs (id, profile_id, request_key, delivery, type, format, start_date, end_date,
+                                         keyword, sort_field, sort_order, status, attempts, created_at)
+            VALUES (:id, :profileId, :requestKey, :delivery, :type, :format, :startDate, :endDate,
+                    :keyword, :sortField, :sortOrder, 'QUEUED', 0, now())
+            ON CONFLICT (profile_id, request_key) WHERE status IN ('QUEUED', 'RUNNING', 'SENDING')
+            DO NOTHING
+            """, nativeQuery = true)
+    int insertIfNotInFlight(@Param("id") UUID id,
+                            @Param("profileId") Long profileId,
+                            @Param("requestKey") String requestKey,
+                            @Param("delivery") String delivery,
+                            @Param("type") String type,
+                            @Param("format") String format,
+                            @Param("startDate") LocalDate startDate,
+                            @Param("endDate") LocalDate endDate,
+                            @Param("keyword") String keyword,
+                            @Param("sortField") String sortField,
+                            @Param("sortOrder") String sortOrder);
+
+    // Oldest queued job whose profile is below the running limit, row-locked; jobs another node is claiming are skipped.
+    // The limit is read without a lock, so two nodes claiming for one profile in the same instant can briefly exceed it
+    @Query(value = """
+            SELECT j.id
+              FROM tbl_export_jobs j
+             WHERE j.status = 'QUEUED'
+               AND (SELECT COUNT(*)
+                      FROM tbl_export_jobs r
+                     WHERE r.profile_id = j.profile_id AND r.status IN ('RUNNING', 'SENDING')) < :perProfileLimit
+             ORDER BY j.created_at
+             LIMIT 1
+               FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<UUID> lockNextQueued(@Param("perProfileLimit") int perProfileLimit);
+
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_export_jobs"))
+    @Query(value = """
+            UPDATE tbl_export_jobs
+               SET status = 'RUNNING', attempts = attempts + 1, started_at = now(), heartbeat_at = now()
+             WHERE id = :id AND status = 'QUEUED'
+            """, nativeQuery = true)
+    int markRunning(@Param("id") UUID id);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_export_jobs"))
+    @Query(value = """
+            UPDATE tbl_export_jobs
+               SET heartbeat_at = now()
+             WHERE id IN (:ids) AND status IN ('RUNNING', 'SENDING')
+            """, nativeQuery = true)
+    int heartbeat(@Param("ids") Collection<UUID> ids);
+
+    // The claiming attempt takes an emailed report out of recovery's reach before it is sent
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_export_jobs"))
+    @Query(value = """
+            UPDATE tbl_export_jobs
+               SET status = 'SENDING', file_size = :fileSize
+             WHERE id = :id AND attempts = :attempt AND status = 'RUNNING'
+            """, nativeQuery = true)
+    int markSending(@Param("id") UUID id,
+                    @Param("attempt") int attempt,
+                    @Param("fileSize") long fileSize);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_export_jobs"))
+    @Query(value = """
+            UPDATE tbl_export_jobs
+               SET status = 'SUCCEEDED', file_size = :fileSize, finished_at = now(),
+                   expires_at = now() + make_interval(secs => :ttlSeconds)
+             WHERE id = :id AND attempts = :attempt AND status IN ('RUNNING', 'SENDING')
+            """, nativeQuery = true)
+    int markSucceeded(@Param("id") UUID id,
+                      @Param("attempt") int attempt,
+                      @Param("fileSize") long fileSize,
+                      @Param("ttlSeconds") long ttlSeconds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_export_jobs"))
+    @Query(value = """
+            UPDATE tbl_export_jobs
+               SET status = 'FAILED', error = :error, finished_at = now()
+             WHERE id = :id AND attempts = :attempt AND status IN ('RUNNING', 'SENDING')
+            """, nativeQuery = true)
+    int markFailed(@Param("id") UUID id,
+                   @Param("attempt") int attempt,
+                   @Param("error") String error);
+
+    // Running jobs whose worker stopped heart-beating (node restart or crash) go back to the queue
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_export_jobs"))
+    @Query(value = """
+            UPDATE tbl_export_jobs
+               SET status = 'QUEUED', heartbeat_at = NULL
+             WHERE status = 'RUNNING'
+               AND heartbeat_at < now() - make_interval(secs => :staleSeconds)
+               AND attempts < :maxAttempts
+            """, nativeQuery = true)
+    int requeueStale(@Param("staleSeconds") long staleSeconds, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_export_jobs"))
+    @Query(value = """
+            UPDATE tbl_export_jobs
+               SET status = 'FAILED', error = :error, finished_at = now()
+             WHERE status = 'RUNNING'
+               AND heartbeat_at < now() - make_interval(secs => :staleSeconds)
+               AND attempts >= :maxAttempts
+            """, nativeQuery = true)
+    int failStale(@Param("staleSeconds") long staleSeconds,
+                  @Param("maxAttempts") int maxAttempts,
+                  @Param("error") String error);
+
+    // A node that stopped while handing a report to the mail service: whether it went out is unknown, so it is not retried
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_export_jobs"))
+    @Query(value = """
+            UPDATE tbl_export_jobs
+               SET status = 'FAILED', error = :error, finished_at = now()
+             WHERE status = 'SENDING'
+               AND heartbeat_at < now() - make_interval(secs => :staleSeconds)
+            """, nativeQuery = true)
+    int failStaleSending(@Param("staleSeconds") long staleSeconds, @Param("error") String error);
+
+    @Query(value = """
+            SELECT j.id
+              FROM tbl_export_jobs j
+             WHERE j.status = 'SUCCEEDED' AND j.expires_at < now()
+            """, nativeQuery = true)
+    List<UUID> findExpiredIds();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_export_jobs"))
+    @Query(value = """
+            UPDATE tbl_export_jobs
+               SET status = 'EXPIRED'
+             WHERE id IN (:ids) AND status = 'SUCCEEDED'
+            """, nativeQuery = true)
+    int markExpired(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_export_jobs"))
+    @Query(value = """
+            DELETE FROM tbl_export_jobs
+             WHERE status IN ('FAILED', 'EXPIRED')
+               AND finished_at < now() - make_interval(secs => :retentionSeconds)
+            """, nativeQuery = true)
+    int deleteFinishedBefore(@Param("retentionSeconds") long retentionSeconds);
+}
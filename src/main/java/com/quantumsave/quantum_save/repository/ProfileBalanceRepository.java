@@ -0,0 +1,43 @@
+package com.quantumsave.quantum_save.repository;
+
+import com.quantumsave.quantum_save.entity.ProfileBalanceEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+public interface ProfileBalanceRepository extends JpaRepository<ProfileBalanceEntity, Long> {
+
+    // Atomic in-place increments: the row lock taken by the UPDATE serializes concurrent writers
+    @Modifying
+    @Query("UPDATE ProfileBalanceEntity b SET b.totalIncome = b.totalIncome + :delta, b.updatedAt = CURRENT_TIMESTAMP WHERE b.profileId = :profileId")
+    int addToTotalIncome(@Param("profileId") Long profileId, @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("UPDATE ProfileBalanceEntity b SET b.totalExpense = b.totalExpense + :delta, b.updatedAt = CURRENT_TIMESTAMP WHERE b.profileId = :profileId")
+    int addToTotalExpense(@Param("profileId") Long profileId, @Param("delta") BigDecimal delta);
+
+    // Zero row for a profile that has none yet. ON CONFLICT makes concurrent first reads/writes safe: a second insert
+    // waits for the first to commit and then does nothing, instead of failing on the primary key
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_profile_balances"))
+    @Query(value = """
+            INSERT INTO tbl_profile_balances (profile_id, total_income, total_expense, updated_at)
+            VALUES (:profileId, 0, 0, now())
+            ON CONFLICT (profile_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("profileId") Long profileId);
+
+    // Row lock used as a per-profile mutex by jobs that re-derive data from the fact tables
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ProfileBalanceEntity b WHERE b.profileId = :profileId")
+    Optional<ProfileBalanceEntity> findByIdForUpdate(@Param("profileId") Long profileId);
+}
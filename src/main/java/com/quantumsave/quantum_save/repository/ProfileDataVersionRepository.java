@@ -0,0 +1,34 @@
+package com.quantumsave.quantum_save.repository;
+
+import com.quantumsave.quantum_save.entity.ProfileDataVersionEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProfileDataVersionRepository extends JpaRepository<ProfileDataVersionEntity, Long> {
+
+    @Query("SELECT v.version FROM ProfileDataVersionEntity v WHERE v.profileId = :profileId")
+    Optional<Long> findVersion(@Param("profileId") Long profileId);
+
+    List<ProfileDataVersionEntity> findByProfileIdIn(Collection<Long> profileIds);
+
+    // Atomic increment (PostgreSQL ON CONFLICT), creating the row on the first mutation.
+    // Scoped to its own table so every write does not clear the second-level cache
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_profile_data_versions"))
+    @Query(value = """
+            INSERT INTO tbl_profile_data_versions (profile_id, version)
+            VALUES (:profileId, 1)
+            ON CONFLICT (profile_id)
+            DO UPDATE SET version = tbl_profile_data_versions.version + 1
+            """, nativeQuery = true)
+    int increment(@Param("profileId") Long profileId);
+}
@@ -1,14 +1,25 @@
 package com.quantumsave.quantum_save.repository;
 
 import com.quantumsave.quantum_save.entity.ProfileEntity;
+import com.quantumsave.quantum_save.repository.projection.ProfileRecipientView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProfileRepository extends JpaRepository<ProfileEntity, Long> {
 
+    // Query cache (id by email) + ProfileEntity region; invalidated by any write to tbl_profiles
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ProfileEntity> findByEmail(String email);
 
     Optional<ProfileEntity> findByEmailAndIsActiveFalse(String email);
@@ -16,4 +27,21 @@ public interface ProfileRepository extends JpaRepository<ProfileEntity, Long> {
     Optional<ProfileEntity> findByActivationToken(String activationToken);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT p.id FROM ProfileEntity p ORDER BY p.id")
+    List<Long> findAllIds();
+
+    // Every profile id through a cursor, for jobs that walk the whole table (see StreamingReads). Scalar rows never enter
+    // the persistence context, so the walk holds one fetch of ids at a time
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id FROM ProfileEntity p ORDER BY p.id")
+    Stream<Long> streamAllIds();
+
+    // One keyset page of profiles after afterId, for jobs that call out (mail) per profile: each page is its own short
+    // read, so nothing stays open while they do
+    @Query("SELECT p.id AS id, p.email AS email, p.fullName AS fullName FROM ProfileEntity p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProfileRecipientView> findRecipientsAfter(@Param("afterId") long afterId, Limit limit);
 }
@@ -0,0 +1,15 @@
+package com.quantumsave.quantum_save.repository;
+
+/**
+ * Hint values shared by the Stream-returning repository methods.
+ * Spring Data only runs those inside a transaction, which is also when the PostgreSQL driver honours the fetch size
+ * and reads through a server-side cursor instead of buffering the whole result.
+ */
+public final class StreamingQueries {
+
+    // Rows per cursor round trip: large enough to amortise the round trip, small enough to keep each batch a few hundred KB
+    public static final String FETCH_SIZE = "1000";
+
+    private StreamingQueries() {
+    }
+}
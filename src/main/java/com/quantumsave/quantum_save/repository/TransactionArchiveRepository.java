@@ -0,0 +1,100 @@
+package com.quantumsave.quantum_save.repository;
+
+import com.quantumsave.quantum_save.entity.ArchivedTransactionEntity;
+import com.quantumsave.quantum_save.repository.projection.ArchiveWatermarkView;
+import com.quantumsave.quantum_save.repository.projection.ArchivedTransactionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Hot -> cold moves for tbl_transactions_archive, deletes of archived rows, and the archive watermark.
+ * Reads that span both tiers live next to their hot-only counterparts (dashboard, feed, filter).
+ */
+public interface TransactionArchiveRepository extends Repository<ArchivedTransactionEntity, Long> {
+
+    @Query(value = """
+            SELECT w.archived_before AS "archivedBefore", w.published_at AS "publishedAt"
+              FROM tbl_archive_watermark w
+             WHERE w.id = 1
+            """, nativeQuery = true)
+    ArchiveWatermarkView findWatermark();
+
+    // The current value once it has been published for longer than the grace (database clock), otherwise null
+    @Query(value = """
+            SELECT w.archived_before
+              FROM tbl_archive_watermark w
+             WHERE w.id = 1 AND w.published_at <= now() - make_interval(secs => :graceSeconds)
+            """, nativeQuery = true)
+    LocalDate findSettledWatermark(@Param("graceSeconds") long graceSeconds);
+
+    // Only ever moves the watermark forward, so two nodes running the job at once cannot step it back
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tbl_archive_watermark"))
+    @Query(value = """
+            UPDATE tbl_archive_watermark
+               SET archived_before = :archivedBefore, published_at = now()
+             WHERE id = 1 AND archived_before < :archivedBefore
+            """, nativeQuery = true)
+    int publishWatermark(@Param("archivedBefore") LocalDate archivedBefore);
+
+    // Moves up to :limit of the profile's oldest rows dated before :before into the archive and folds them into the
+    // frozen monthly totals, all in one statement (a forward range scan of idx_transactions_profile_date).
+    // Returns the number of rows moved; 0 means the profile has nothing left to archive.
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM tbl_transactions t
+                 WHERE t.id IN (SELECT h.id
+                                  FROM tbl_transactions h
+                                 WHERE h.profile_id = :profileId AND h.date < :before
+                                 ORDER BY h.date, h.created_at, h.id
+                                 LIMIT :limit)
+                RETURNING t.id, t.type, t.name, t.icon, t.date, t.amount, t.created_at, t.updated_at, t.category_id, t.profile_id
+            ), archived AS (
+                INSERT INTO tbl_transactions_archive (id, type, name, icon, date, amount, created_at, updated_at, category_id, profile_id)
+                SELECT id, type, name, icon, date, amount, created_at, updated_at, category_id, profile_id
+                  FROM moved
+            ), totals AS (
+                INSERT INTO tbl_archived_monthly_totals (profile_id, month, type, total, txn_count)
+                SELECT profile_id, CAST(date_trunc('month', date) AS date), type, SUM(COALESCE(amount, 0)), COUNT(*)
+                  FROM moved
+                 GROUP BY profile_id, CAST(date_trunc('month', date) AS date), type
+                ON CONFLICT (profile_id, month, type)
+                DO UPDATE SET total = tbl_archived_monthly_totals.total + EXCLUDED.total,
+                              txn_count = tbl_archived_monthly_totals.txn_count + EXCLUDED.txn_count
+            )
+            SELECT COUNT(*) FROM moved
+            """, nativeQuery = true)
+    long moveBefore(@Param("profileId") Long profileId,
+                    @Param("before") LocalDate before,
+                    @Param("limit") int limit);
+
+    // Deletes one archived row of the profile and type and takes it out of its month's frozen totals, in one statement.
+    // Returns the removed row, or nothing when the id is not archived for this profile and type
+    @Query(value = """
+            WITH removed AS (
+                DELETE FROM tbl_transactions_archive a
+                 WHERE a.id = :id AND a.profile_id = :profileId AND a.type = :type
+                RETURNING a.id, a.type, a.date, a.amount, a.category_id, a.profile_id
+            ), totals AS (
+                UPDATE tbl_archived_monthly_totals m
+                   SET total = m.total - COALESCE(r.amount, 0), txn_count = m.txn_count - 1
+                  FROM removed r
+                 WHERE m.profile_id = r.profile_id
+                   AND m.month = CAST(date_trunc('month', r.date) AS date)
+                   AND m.type = r.type
+            )
+            SELECT r.id AS "id", r.date AS "date", r.amount AS "amount", r.category_id AS "categoryId"
+              FROM removed r
+            """, nativeQuery = true)
+    Optional<ArchivedTransactionView> deleteArchived(@Param("profileId") Long profileId,
+                                                     @Param("type") String type,
+                                                     @Param("id") Long id);
+}
@@ -0,0 +1,73 @@
+package com.quantumsave.quantum_save.repository;
+
+import com.quantumsave.quantum_save.entity.TransactionEntity;
+import com.quantumsave.quantum_save.repository.projection.TransactionView;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Merged income + expense history ordered by (date, createdAt, id), newest first.
+ * Both types live in tbl_transactions with one id space, so a page is a single backward seek on
+ * idx_transactions_profile_date and costs the same no matter how deep into the history it is.
+ * Once a page reaches below the archive watermark, the AcrossTiers variant merges the same seek on the archive table.
+ */
+public interface TransactionFeedRepository extends Repository<TransactionEntity, Long> {
+
+    @Query(value = """
+            SELECT t.type AS "type", t.id AS "id", t.name AS "name",
+                   COALESCE(NULLIF(TRIM(t.icon), ''), NULLIF(TRIM(c.icon), '')) AS "icon",
+                   c.id AS "categoryId", c.name AS "categoryName",
+                   t.amount AS "amount", t.date AS "date", t.created_at AS "createdAt", t.updated_at AS "updatedAt"
+              FROM tbl_transactions t
+              JOIN tbl_categories c ON c.id = t.category_id
+             WHERE t.profile_id = :profileId
+               AND (t.date, t.created_at, t.id) < (:date, :createdAt, :id)
+             ORDER BY t.date DESC, t.created_at DESC, t.id DESC
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<TransactionView> findPageBefore(
+            @Param("profileId") Long profileId,
+            @Param("date") LocalDate date,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            @Param("limit") int limit);
+
+    // Same page over the hot and the archive table; each branch is its own bounded seek, merged by the outer ORDER BY
+    @Query(value = """
+            SELECT u."type", u."id", u."name", u."icon", u."categoryId", u."categoryName",
+                   u."amount", u."date", u."createdAt", u."updatedAt"
+              FROM ((SELECT t.type AS "type", t.id AS "id", t.name AS "name",
+                            COALESCE(NULLIF(TRIM(t.icon), ''), NULLIF(TRIM(c.icon), '')) AS "icon",
+                            c.id AS "categoryId", c.name AS "categoryName",
+                            t.amount AS "amount", t.date AS "date", t.created_at AS "createdAt", t.updated_at AS "updatedAt"
+                       FROM tbl_transactions t
+                       JOIN tbl_categories c ON c.id = t.category_id
+                      WHERE t.profile_id = :profileId
+                        AND (t.date, t.created_at, t.id) < (:date, :createdAt, :id)
+                      ORDER BY t.date DESC, t.created_at DESC, t.id DESC
+                      LIMIT :limit)
+                    UNION ALL
+                    (SELECT t.type, t.id, t.name,
+                            COALESCE(NULLIF(TRIM(t.icon), ''), NULLIF(TRIM(c.icon), '')),
+                            c.id, c.name, t.amount, t.date, t.created_at, t.updated_at
+                       FROM tbl_transactions_archive t
+                       JOIN tbl_categories c ON c.id = t.category_id
+                      WHERE t.profile_id = :profileId
+                        AND (t.date, t.created_at, t.id) < (:date, :createdAt, :id)
+                      ORDER BY t.date DESC, t.created_at DESC, t.id DESC
+                      LIMIT :limit)) u
+             ORDER BY u."date" DESC, u."createdAt" DESC, u."id" DESC
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<TransactionView> findPageBeforeAcrossTiers(
+            @Param("profileId") Long profileId,
+            @Param("date") LocalDate date,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") long id,
+            @Param("limit") int limit);
+}
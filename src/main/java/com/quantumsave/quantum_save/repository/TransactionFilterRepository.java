@@ -0,0 +1,122 @@
+package com.quantumsave.quantum_save.repository;
+
+import com.quantumsave.quantum_save.entity.ArchivedTransactionEntity;
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keyset (seek) pages for /filter over IncomeEntity or ExpenseEntity, projected straight into the matching DTO.
+ * When the range reaches below the archive watermark the same rows are also read from ArchivedTransactionEntity,
+ * as a UNION ALL derived table that the seek and ORDER BY apply to.
+ * The JPQL is assembled only from the fixed fragments below; request values only ever reach bind parameters.
+ */
+@Repository
+public class TransactionFilterRepository {
+
+    public enum SortKey {
+        DATE("%s.date"),
+        // Nullable columns are coalesced so ORDER BY and the seek predicate agree on where those rows go
+        AMOUNT("COALESCE(%s.amount, 0)"),
+        NAME("COALESCE(%s.name, '')");
+
+        private final String expression;
+
+        SortKey(String expression) {
+            this.expression = expression;
+        }
+
+        private String on(String alias) {
+            return expression.formatted(alias);
+        }
+    }
+
+    // The derived table's columns carry the entity attribute names, so SortKey reads the same on either source
+    private static final String ROW_COLUMNS = "e.id AS id, e.name AS name, "
+            + "COALESCE(NULLIF(TRIM(e.icon), ''), NULLIF(TRIM(c.icon), '')) AS icon, c.name AS categoryName, "
+            + "c.id AS categoryId, e.amount AS amount, e.date AS date, e.createdAt AS createdAt, e.updatedAt AS updatedAt";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // afterValue/afterId are the sort key and id of the last row served (both null for the first page).
+    // ids, when given, are the search index's matches and replace the keyword LIKE; they are still scoped to the profile.
+    // The index only covers the hot table, so the archive branch always matches the keyword with LIKE.
+    public <T> List<T> findPage(Class<?> entityClass, Class<T> dtoClass, Long profileId,
+                                LocalDate startDate, LocalDate endDate, String keywordPattern, Collection<Long> ids,
+                                boolean includeArchive, SortKey sortKey, boolean descending,
+                                Object afterValue, Long afterId, int limit) {
+        String direction = descending ? "DESC" : "ASC";
+        String seek = descending ? "<" : ">";
+        String alias = includeArchive ? "u" : "e";
+
+        StringBuilder jpql = new StringBuilder().append("SELECT new ").append(dtoClass.getName()).append("(");
+        if (includeArchive) {
+            jpql.append("u.id, u.name, u.icon, u.categoryName, u.categoryId, u.amount, u.date, u.createdAt, u.updatedAt) ")
+                    .append("FROM (SELECT ").append(ROW_COLUMNS)
+                    .append(" FROM ").append(entityClass.getSimpleName()).append(" e JOIN e.category c WHERE ");
+            appendRowFilter(jpql, startDate, ids != null);
+            jpql.append("UNION ALL SELECT ").append(ROW_COLUMNS)
+                    .append(" FROM ").append(ArchivedTransactionEntity.class.getSimpleName())
+                    .append(" e JOIN e.category c WHERE e.type = :type AND ");
+            appendRowFilter(jpql, startDate, false);
+            jpql.append(") u WHERE 1 = 1 ");
+        } else {
+            jpql.append("e.id, e.name, COALESCE(NULLIF(TRIM(e.icon), ''), NULLIF(TRIM(c.icon), '')), ")
+                    .append("c.name, c.id, e.amount, e.date, e.createdAt, e.updatedAt) ")
+                    .append("FROM ").append(entityClass.getSimpleName()).append(" e JOIN e.category c WHERE ");
+            appendRowFilter(jpql, startDate, ids != null);
+        }
+        if (afterId != null) {
+            // The first, redundant bound is index-usable (date sort), so the scan starts at the cursor, not at startDate
+            jpql.append("AND ").append(sortKey.on(alias)).append(' ').append(seek).append("= :afterValue ")
+                    .append("AND (").append(sortKey.on(alias)).append(' ').append(seek).append(" :afterValue OR (")
+                    .append(sortKey.on(alias)).append(" = :afterValue AND ").append(alias).append(".id ")
+                    .append(seek).append(" :afterId)) ");
+        }
+        // id is the tiebreaker, so every row has exactly one position and no row is skipped or repeated
+        jpql.append("ORDER BY ").append(sortKey.on(alias)).append(' ').append(direction)
+                .append(", ").append(alias).append(".id ").append(direction);
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), dtoClass)
+                .setParameter("profileId", profileId)
+                .setParameter("endDate", endDate)
+                .setMaxResults(limit);
+        if (ids != null) {
+            query.setParameter("ids", ids);
+        }
+        if (ids == null || includeArchive) {
+            query.setParameter("keyword", keywordPattern);
+        }
+        if (includeArchive) {
+            query.setParameter("type", entityClass.getAnnotation(DiscriminatorValue.class).value());
+        }
+        if (startDate != null) {
+            query.setParameter("startDate", startDate);
+        }
+        if (afterId != null) {
+            query.setParameter("afterValue", afterValue);
+            query.setParameter("afterId", afterId);
+        }
+        return query.getResultList();
+    }
+
+    // Profile, date range and keyword (or search-index ids) for one source, aliased e / c
+    private static void appendRowFilter(StringBuilder jpql, LocalDate startDate, boolean byIds) {
+        jpql.append("e.profile.id = :profileId AND e.date <= :endDate ");
+        if (byIds) {
+            jpql.append("AND e.id IN :ids ");
+        } else {
+            jpql.append("AND LOWER(e.name) LIKE :keyword ESCAPE '\\' ");
+        }
+        if (startDate != null) {
+            jpql.append("AND e.date >= :startDate ");
+        }
+    }
+}
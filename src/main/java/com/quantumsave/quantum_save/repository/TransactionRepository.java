@@ -0,0 +1,27 @@
+package com.quantumsave.quantum_save.repository;
+
+import com.quantumsave.quantum_save.entity.TransactionEntity;
+import com.quantumsave.quantum_save.repository.projection.TransactionTotalsView;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Cross-type reads over tbl_transactions; per-type access stays on IncomeRepository / ExpenseRepository.
+ */
+public interface TransactionRepository extends Repository<TransactionEntity, Long> {
+
+    // Both totals from one scan of the profile's hot rows plus its frozen per-month archive totals (never null)
+    @Query(value = """
+            SELECT COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'income'), 0) AS "totalIncome",
+                   COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'expense'), 0) AS "totalExpense"
+              FROM (SELECT h.type, h.amount
+                      FROM tbl_transactions h
+                     WHERE h.profile_id = :profileId
+                    UNION ALL
+                    SELECT a.type, a.total
+                      FROM tbl_archived_monthly_totals a
+                     WHERE a.profile_id = :profileId) t
+            """, nativeQuery = true)
+    TransactionTotalsView findTotalsByProfileId(@Param("profileId") Long profileId);
+}
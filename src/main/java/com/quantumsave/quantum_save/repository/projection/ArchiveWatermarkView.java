@@ -0,0 +1,14 @@
+package com.quantumsave.quantum_save.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The single row of tbl_archive_watermark.
+ */
+public interface ArchiveWatermarkView {
+
+    LocalDate getArchivedBefore(); // every archived row is dated before this
+
+    LocalDateTime getPublishedAt();
+}
@@ -0,0 +1,18 @@
+package com.quantumsave.quantum_save.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * What a delete from tbl_transactions_archive needs to undo the row's share of the ledger and the daily rollups.
+ */
+public interface ArchivedTransactionView {
+
+    Long getId();
+
+    LocalDate getDate();
+
+    BigDecimal getAmount();
+
+    Long getCategoryId();
+}
@@ -0,0 +1,11 @@
+package com.quantumsave.quantum_save.repository.projection;
+
+/**
+ * Minimal row used to (re)build the in-process name search index.
+ */
+public interface IdNameView {
+
+    Long getId();
+
+    String getName();
+}
@@ -0,0 +1,13 @@
+package com.quantumsave.quantum_save.repository.projection;
+
+/**
+ * Just what the notification jobs need to address a profile.
+ */
+public interface ProfileRecipientView {
+
+    Long getId();
+
+    String getEmail();
+
+    String getFullName();
+}
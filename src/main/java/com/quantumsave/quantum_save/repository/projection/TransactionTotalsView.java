@@ -0,0 +1,13 @@
+package com.quantumsave.quantum_save.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Income and expense sums of one profile, computed in a single pass over tbl_transactions.
+ */
+public interface TransactionTotalsView {
+
+    BigDecimal getTotalIncome();
+
+    BigDecimal getTotalExpense();
+}
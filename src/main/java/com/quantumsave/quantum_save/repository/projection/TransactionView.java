@@ -0,0 +1,32 @@
+package com.quantumsave.quantum_save.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row shared by the income and expense read paths.
+ * Category name/icon are joined in SQL so no entity (or lazy category) is ever hydrated.
+ */
+public interface TransactionView {
+
+    String getType(); // "income" or "expense"
+
+    Long getId();
+
+    String getName();
+
+    String getIcon(); // already falls back to the category icon
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    BigDecimal getAmount();
+
+    LocalDate getDate();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
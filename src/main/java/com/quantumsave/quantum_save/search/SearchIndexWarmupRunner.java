@@ -0,0 +1,38 @@
+package com.quantumsave.quantum_save.search;
+
+import com.quantumsave.quantum_save.service.StreamingReads;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Startup build of the name search index.
+ * quantum.save.search.startup-action=rebuild -> loads every profile (up to the index's row budget) before traffic arrives
+ * quantum.save.search.startup-action=none    -> profiles are loaded on their first keyword search
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexWarmupRunner implements ApplicationRunner {
+
+    private final Optional<TransactionSearchIndex> transactionSearchIndex;
+    private final StreamingReads streamingReads;
+
+    @Value("${quantum.save.search.startup-action:none}")
+    private String startupAction;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (transactionSearchIndex.isEmpty() || !"rebuild".equalsIgnoreCase(startupAction)) {
+            return;
+        }
+        log.info("Job Started : Building transaction search index");
+        long profiles = streamingReads.forEachProfileId(transactionSearchIndex.get()::rebuild);
+        log.info("Job Completed : Search index built for {} profiles", profiles);
+    }
+}
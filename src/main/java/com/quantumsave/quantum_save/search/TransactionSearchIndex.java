@@ -0,0 +1,18 @@
+package com.quantumsave.quantum_save.search;
+
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent.Source;
+
+import java.util.Set;
+
+/**
+ * Case-insensitive substring search over transaction names, used by /filter instead of LIKE '%keyword%'.
+ * Implementations return ids only; callers fetch the rows by primary key and still scope them to the profile.
+ */
+public interface TransactionSearchIndex {
+
+    // Ids of the profile's incomes or expenses whose name contains the keyword
+    Set<Long> search(Long profileId, Source type, String keyword);
+
+    // Drop whatever is held for the profile and load it again from the database
+    void rebuild(Long profileId);
+}
@@ -0,0 +1,228 @@
+package com.quantumsave.quantum_save.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent.Source;
+import com.quantumsave.quantum_save.repository.ExpenseRepository;
+import com.quantumsave.quantum_save.repository.IncomeRepository;
+import com.quantumsave.quantum_save.repository.projection.IdNameView;
+import com.quantumsave.quantum_save.service.DataVersionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Default TransactionSearchIndex: a per-profile trigram inverted index held in memory.
+ * A profile's index is loaded on first use and remembers the data version it reflects. Local adds/deletes are applied
+ * incrementally after commit; any other version change (another node, a category edit, a rebuild) reloads it on the next search.
+ * Bounded by the total number of indexed rows across profiles.
+ */
+@Component
+@ConditionalOnProperty(name = "quantum.save.search.index", havingValue = "trigram", matchIfMissing = true)
+public class TrigramTransactionSearchIndex implements TransactionSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final DataVersionService dataVersionService;
+    private final Cache<Long, ProfileIndex> profiles;
+
+    public TrigramTransactionSearchIndex(
+            IncomeRepository incomeRepository,
+            ExpenseRepository expenseRepository,
+            DataVersionService dataVersionService,
+            MeterRegistry meterRegistry,
+            @Value("${quantum.save.search.max-indexed-rows:2000000}") long maxIndexedRows
+    ) {
+        this.incomeRepository = incomeRepository;
+        this.expenseRepository = expenseRepository;
+        this.dataVersionService = dataVersionService;
+        this.profiles = Caffeine.newBuilder()
+                .maximumWeight(maxIndexedRows)
+                .weigher((Long profileId, ProfileIndex index) -> Math.max(1, index.size()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, "search-index");
+    }
+
+    @Override
+    public Set<Long> search(Long profileId, Source type, String keyword) {
+        long currentVersion = dataVersionService.currentVersion(profileId);
+        ProfileIndex index = profiles.getIfPresent(profileId);
+        if (index == null || index.version != currentVersion) {
+            index = load(profileId, currentVersion);
+        }
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        synchronized (index) {
+            return index.of(type).search(needle);
+        }
+    }
+
+    @Override
+    public void rebuild(Long profileId) {
+        load(profileId, dataVersionService.currentVersion(profileId));
+    }
+
+    // After commit, so a rolled-back add never becomes searchable
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileDataChanged(ProfileDataChangedEvent event) {
+        ProfileIndex index = profiles.getIfPresent(event.getProfileId());
+        if (index == null) {
+            return;
+        }
+        long currentVersion = dataVersionService.currentVersion(event.getProfileId());
+        synchronized (index) {
+            // Exactly one version step means this event is the only change since the index was last in sync
+            boolean applicable = currentVersion == index.version + 1
+                    && (event.getSource() == Source.CATEGORY
+                    || event.getAction() == ProfileDataChangedEvent.Action.DELETED
+                    || event.getTransaction() != null);
+            if (!applicable) {
+                profiles.invalidate(event.getProfileId());
+                return;
+            }
+            if (event.getSource() != Source.CATEGORY) {
+                TypeIndex typeIndex = index.of(event.getSource());
+                if (event.getAction() == ProfileDataChangedEvent.Action.DELETED) {
+                    typeIndex.remove(event.getEntityId());
+                } else {
+                    typeIndex.add(event.getEntityId(), event.getTransaction().getName());
+                }
+            }
+            index.version = currentVersion;
+        }
+    }
+
+    // Helper Methods
+
+    // The version is read before the rows, so rows committed meanwhile only make the index newer than its version claims
+    private ProfileIndex load(Long profileId, long version) {
+        ProfileIndex index = new ProfileIndex(version,
+                TypeIndex.of(incomeRepository.findIdAndNameByProfileId(profileId)),
+                TypeIndex.of(expenseRepository.findIdAndNameByProfileId(profileId)));
+        profiles.put(profileId, index);
+        return index;
+    }
+
+    private static final class ProfileIndex {
+
+        private long version;
+        private final TypeIndex incomes;
+        private final TypeIndex expenses;
+
+        private ProfileIndex(long version, TypeIndex incomes, TypeIndex expenses) {
+            this.version = version;
+            this.incomes = incomes;
+            this.expenses = expenses;
+        }
+
+        private TypeIndex of(Source type) {
+            return type == Source.INCOME ? incomes : expenses;
+        }
+
+        private int size() {
+            return incomes.names.size() + expenses.names.size();
+        }
+    }
+
+    private static final class TypeIndex {
+
+        private final Map<Long, String> names = new HashMap<>();        // id -> lower-cased name
+        private final Map<String, Set<Long>> postings = new HashMap<>(); // trigram -> ids
+
+        private static TypeIndex of(List<IdNameView> rows) {
+            TypeIndex index = new TypeIndex();
+            for (IdNameView row : rows) {
+                index.add(row.getId(), row.getName());
+            }
+            return index;
+        }
+
+        private void add(Long id, String name) {
+            if (name == null) {
+                return; // LIKE never matches a NULL name either
+            }
+            String lower = name.toLowerCase(Locale.ROOT);
+            names.put(id, lower);
+            for (String gram : grams(lower)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+            }
+        }
+
+        private void remove(Long id) {
+            String lower = names.remove(id);
+            if (lower == null) {
+                return;
+            }
+            for (String gram : grams(lower)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        private Set<Long> search(String needle) {
+            // Too short for a trigram: check every name of this profile and type (in memory, no table scan)
+            if (needle.length() < GRAM) {
+                Set<Long> result = new HashSet<>();
+                names.forEach((id, name) -> {
+                    if (name.contains(needle)) {
+                        result.add(id);
+                    }
+                });
+                return result;
+            }
+
+            // Intersect posting lists smallest first, then confirm: sharing every trigram does not imply containing the keyword
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : grams(needle)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return Collections.emptySet();
+                }
+                lists.add(ids);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            Set<Long> result = new HashSet<>();
+            for (Long id : lists.get(0)) {
+                if (containsInAll(lists, id) && names.get(id).contains(needle)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        }
+
+        private static boolean containsInAll(List<Set<Long>> lists, Long id) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Set<String> grams(String text) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                grams.add(text.substring(i, i + GRAM));
+            }
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.quantumsave.quantum_save.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal resolved once per request by JwtRequestFilter and stored in the security context.
+ * Carries the few profile fields services need so they never have to look the profile up by email.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class AuthenticatedProfile implements AuthenticatedPrincipal {
+
+    private final Long id;
+    private final String email;
+    private final String fullName;
+
+    // Keeps authentication.getName() returning the email, as it did with UserDetails
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,6 +1,9 @@
 package com.quantumsave.quantum_save.security;
 
+import com.quantumsave.quantum_save.entity.ProfileEntity;
+import com.quantumsave.quantum_save.repository.ProfileRepository;
 import com.quantumsave.quantum_save.util.JWTUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,13 +14,13 @@ import org.slf4j.MDC;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -26,7 +29,7 @@ import java.util.UUID;
 public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final JWTUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final ProfileRepository profileRepository;
 
     @Override
     protected void doFilterInternal(
@@ -74,37 +77,28 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
             final String jwt = authHeader.substring(7);
 
-            final String email;
-            try {
-                email = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
+            // Single parse: signature, expiry and subject are all checked here
+            final Claims claims = jwtUtil.parseValidClaims(jwt);
+            if (claims == null) {
                 // Don’t leak token or user data. Just state “bad token”.
-                log.warn("JWT rejected: cannot parse token");
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            if (email == null || email.isBlank()) {
-                log.warn("JWT rejected: missing subject");
+                log.warn("JWT rejected: invalid/expired token");
                 filterChain.doFilter(request, response);
                 return;
             }
 
             try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-                boolean valid = jwtUtil.validateToken(jwt, userDetails);
-                if (!valid) {
-                    log.warn("JWT rejected: invalid/expired token");
+                AuthenticatedProfile principal = resolvePrincipal(claims);
+                if (principal == null) {
+                    log.warn("JWT rejected: profile not found or inactive");
                     filterChain.doFilter(request, response);
                     return;
                 }
 
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails,
+                                principal,
                                 null,
-                                userDetails.getAuthorities()
+                                Collections.emptyList()
                         );
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -129,4 +123,23 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             MDC.remove("rid");
         }
     }
+
+    // Tokens minted with a profile id are checked against the profile by primary key, which the ProfileEntity L2 region
+    // serves without a query once warm; older tokens fall back to one lookup by email. Either way a deleted or
+    // deactivated profile's tokens stop working at once instead of at expiry
+    private AuthenticatedProfile resolvePrincipal(Claims claims) {
+        Long profileId = claims.get(JWTUtil.CLAIM_PROFILE_ID, Long.class);
+        Optional<ProfileEntity> profile = profileId != null
+                ? profileRepository.findById(profileId)
+                : profileRepository.findByEmail(claims.getSubject());
+
+        return profile
+                .filter(p -> Boolean.TRUE.equals(p.getIsActive()))
+                .map(p -> AuthenticatedProfile.builder()
+                        .id(p.getId())
+                        .email(p.getEmail())
+                        .fullName(p.getFullName())
+                        .build())
+                .orElse(null);
+    }
 }
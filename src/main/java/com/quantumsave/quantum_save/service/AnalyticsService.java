@@ -0,0 +1,61 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.CategoryTotalDTO;
+import com.quantumsave.quantum_save.dto.MonthlyTotalDTO;
+import com.quantumsave.quantum_save.dto.PeriodTotalDTO;
+import com.quantumsave.quantum_save.repository.DailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Analytic views, all served from tbl_daily_rollups rather than the raw transaction tables.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    private final DailyRollupRepository dailyRollupRepository;
+    private final ProfileService profileService;
+
+    // Monthly income/expense trend (defaults to the last 12 months)
+    public List<MonthlyTotalDTO> getMonthlyTotalsForCurrentUser(LocalDate startDate, LocalDate endDate) {
+        Long profileId = profileService.getCurrentProfileId();
+        LocalDate now = LocalDate.now();
+        LocalDate start = startDate != null ? startDate : now.minusMonths(11).withDayOfMonth(1);
+        LocalDate end = endDate != null ? endDate : now.withDayOfMonth(now.lengthOfMonth());
+        validateRange(start, end);
+        return dailyRollupRepository.findMonthlyTotals(profileId, start, end);
+    }
+
+    // Category breakdown for one type (defaults to the current month)
+    public List<CategoryTotalDTO> getCategoryTotalsForCurrentUser(String type, LocalDate startDate, LocalDate endDate) {
+        Long profileId = profileService.getCurrentProfileId();
+        if (!RollupService.TYPE_INCOME.equals(type) && !RollupService.TYPE_EXPENSE.equals(type)) {
+            throw new IllegalArgumentException("Invalid type. Must be 'income' or 'expense'");
+        }
+        LocalDate now = LocalDate.now();
+        LocalDate start = startDate != null ? startDate : now.withDayOfMonth(1);
+        LocalDate end = endDate != null ? endDate : now.withDayOfMonth(now.lengthOfMonth());
+        validateRange(start, end);
+        return dailyRollupRepository.findCategoryTotals(profileId, type, start, end);
+    }
+
+    // Income/expense totals for an arbitrary period, used for period-over-period comparisons
+    public List<PeriodTotalDTO> getPeriodTotalsForCurrentUser(LocalDate startDate, LocalDate endDate) {
+        Long profileId = profileService.getCurrentProfileId();
+        LocalDate now = LocalDate.now();
+        LocalDate start = startDate != null ? startDate : now.withDayOfMonth(1);
+        LocalDate end = endDate != null ? endDate : now.withDayOfMonth(now.lengthOfMonth());
+        validateRange(start, end);
+        return dailyRollupRepository.findPeriodTotals(profileId, start, end);
+    }
+
+    private static void validateRange(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.repository.TransactionArchiveRepository;
+import com.quantumsave.quantum_save.repository.projection.ArchiveWatermarkView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * This node's copy of the archive watermark: every row in tbl_transactions_archive is dated before it.
+ * Reads whose range starts on or after it stay on the hot table; anything reaching below it also reads the archive.
+ * Refreshed on a fixed delay. TransactionArchiveJob only moves rows once a published value is older than the
+ * publish grace, so by then every node already reads with it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArchiveWatermark {
+
+    private final TransactionArchiveRepository transactionArchiveRepository;
+
+    private volatile LocalDate archivedBefore;
+
+    public LocalDate archivedBefore() {
+        LocalDate value = archivedBefore;
+        if (value == null) {
+            value = load();
+        }
+        return value;
+    }
+
+    // null start = "from the beginning", which always reaches the archive
+    public boolean reaches(LocalDate startDate) {
+        return startDate == null || startDate.isBefore(archivedBefore());
+    }
+
+    @Scheduled(fixedDelayString = "${quantum.save.archive.watermark-refresh:1m}")
+    public void refresh() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            // Keep the previous value: the same outage fails this node's reads too, so it does not serve a stale tier split for long
+            log.warn("Archive watermark refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private LocalDate load() {
+        ArchiveWatermarkView watermark = transactionArchiveRepository.findWatermark();
+        LocalDate value = watermark != null ? watermark.getArchivedBefore() : LocalDate.EPOCH;
+        archivedBefore = value;
+        return value;
+    }
+}
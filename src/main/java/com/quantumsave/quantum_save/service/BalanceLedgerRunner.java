@@ -0,0 +1,62 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.BalanceVerificationDTO;
+import com.quantumsave.quantum_save.repository.ProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Startup command for the balance ledger.
+ * quantum.save.balance.startup-action=verify  -> logs every profile whose ledger drifted from the raw rows
+ * quantum.save.balance.startup-action=rebuild -> re-derives every ledger row from the raw rows
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceLedgerRunner implements ApplicationRunner {
+
+    private final BalanceService balanceService;
+    private final ProfileRepository profileRepository;
+
+    @Value("${quantum.save.balance.startup-action:none}")
+    private String startupAction;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if ("verify".equalsIgnoreCase(startupAction)) {
+            verifyAll();
+        } else if ("rebuild".equalsIgnoreCase(startupAction)) {
+            rebuildAll();
+        }
+    }
+
+    public List<BalanceVerificationDTO> verifyAll() {
+        log.info("Job Started : Verifying balance ledger");
+        List<BalanceVerificationDTO> drifted = profileRepository.findAllIds().stream()
+                .map(balanceService::verify)
+                .filter(result -> !result.isConsistent())
+                .toList();
+        for (BalanceVerificationDTO result : drifted) {
+            log.warn("Balance ledger drift for profile {}: ledger income={} expense={}, actual income={} expense={}",
+                    result.getProfileId(), result.getLedgerIncome(), result.getLedgerExpense(),
+                    result.getActualIncome(), result.getActualExpense());
+        }
+        log.info("Job Completed : Verifying balance ledger ({} drifted)", drifted.size());
+        return drifted;
+    }
+
+    public int rebuildAll() {
+        log.info("Job Started : Rebuilding balance ledger");
+        List<Long> profileIds = profileRepository.findAllIds();
+        // One transaction per profile so a large rebuild never holds a long-running lock
+        profileIds.forEach(balanceService::rebuild);
+        log.info("Job Completed : Rebuilding balance ledger ({} profiles)", profileIds.size());
+        return profileIds.size();
+    }
+}
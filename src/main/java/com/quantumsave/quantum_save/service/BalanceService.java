@@ -0,0 +1,120 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.BalanceVerificationDTO;
+import com.quantumsave.quantum_save.entity.ProfileBalanceEntity;
+import com.quantumsave.quantum_save.repository.ProfileBalanceRepository;
+import com.quantumsave.quantum_save.repository.TransactionRepository;
+import com.quantumsave.quantum_save.repository.projection.TransactionTotalsView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+/**
+ * Owns the per-profile balance ledger (tbl_profile_balances).
+ * Deltas are applied inside the caller's transaction so the ledger commits or rolls back together with the transaction row.
+ */
+@Service
+@RequiredArgsConstructor
+public class BalanceService {
+
+    private final ProfileBalanceRepository profileBalanceRepository;
+    private final TransactionRepository transactionRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Apply an income delta (positive on add, negative on delete)
+    @Transactional
+    public void applyIncomeDelta(Long profileId, BigDecimal delta) {
+        if (delta == null || delta.signum() == 0) {
+            return;
+        }
+        // No ledger row yet (profile predates the ledger): derive it from the raw rows, which already include this change
+        if (profileBalanceRepository.addToTotalIncome(profileId, delta) == 0) {
+            rebuild(profileId);
+        } else {
+            refreshIfLoaded(profileId);
+        }
+    }
+
+    // Apply an expense delta (positive on add, negative on delete)
+    @Transactional
+    public void applyExpenseDelta(Long profileId, BigDecimal delta) {
+        if (delta == null || delta.signum() == 0) {
+            return;
+        }
+        if (profileBalanceRepository.addToTotalExpense(profileId, delta) == 0) {
+            rebuild(profileId);
+        } else {
+            refreshIfLoaded(profileId);
+        }
+    }
+
+    // O(1) read used by the dashboard
+    @Transactional
+    public ProfileBalanceEntity getBalance(Long profileId) {
+        return profileBalanceRepository.findById(profileId)
+                .orElseGet(() -> rebuild(profileId));
+    }
+
+    // Every add/delete updates the ledger row, so holding its lock blocks concurrent writes for this profile
+    @Transactional
+    public void lockProfile(Long profileId) {
+        getBalance(profileId);
+        profileBalanceRepository.findByIdForUpdate(profileId);
+    }
+
+    // Re-derive the ledger row from tbl_transactions, creating it if missing.
+    // The totals are read under the row lock: a delta committed before it is counted, one applied after it adds on top
+    @Transactional
+    public ProfileBalanceEntity rebuild(Long profileId) {
+        profileBalanceRepository.insertIfAbsent(profileId);
+        ProfileBalanceEntity balance = profileBalanceRepository.findByIdForUpdate(profileId).orElseThrow();
+
+        TransactionTotalsView totals = transactionRepository.findTotalsByProfileId(profileId);
+        balance.setTotalIncome(totals.getTotalIncome());
+        balance.setTotalExpense(totals.getTotalExpense());
+        return profileBalanceRepository.save(balance);
+    }
+
+    // Compare the ledger with the raw rows without modifying anything
+    @Transactional(readOnly = true)
+    public BalanceVerificationDTO verify(Long profileId) {
+        TransactionTotalsView totals = transactionRepository.findTotalsByProfileId(profileId);
+        BigDecimal actualIncome = totals.getTotalIncome();
+        BigDecimal actualExpense = totals.getTotalExpense();
+
+        ProfileBalanceEntity balance = profileBalanceRepository.findById(profileId).orElse(null);
+        BigDecimal ledgerIncome = balance != null ? balance.getTotalIncome() : null;
+        BigDecimal ledgerExpense = balance != null ? balance.getTotalExpense() : null;
+
+        boolean consistent = ledgerIncome != null && ledgerIncome.compareTo(actualIncome) == 0
+                && ledgerExpense != null && ledgerExpense.compareTo(actualExpense) == 0;
+
+        return BalanceVerificationDTO.builder()
+                .profileId(profileId)
+                .ledgerIncome(ledgerIncome)
+                .ledgerExpense(ledgerExpense)
+                .actualIncome(actualIncome)
+                .actualExpense(actualExpense)
+                .consistent(consistent)
+                .build();
+    }
+
+    // Helper Methods
+
+    // The increments are bulk UPDATEs, which bypass the persistence context: a ledger row loaded earlier in it
+    // (lockProfile, getBalance) would keep its old totals for the rest of the transaction and for after-commit listeners
+    // sharing the EntityManager. getReference returns that row without a query, or an unloaded proxy when there is none
+    private void refreshIfLoaded(Long profileId) {
+        ProfileBalanceEntity balance = entityManager.getReference(ProfileBalanceEntity.class, profileId);
+        if (Hibernate.isInitialized(balance)) {
+            entityManager.refresh(balance);
+        }
+    }
+}
@@ -3,9 +3,14 @@ package com.quantumsave.quantum_save.service;
 import com.quantumsave.quantum_save.dto.CategoryDTO;
 import com.quantumsave.quantum_save.entity.CategoryEntity;
 import com.quantumsave.quantum_save.entity.ProfileEntity;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent.Action;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent.Source;
 import com.quantumsave.quantum_save.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,40 +20,46 @@ public class CategoryService {
 
     private final ProfileService profileService;
     private  final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     // Save Category
+    @Transactional
     public CategoryDTO saveCategory(CategoryDTO categoryDTO) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        ProfileEntity profile = profileService.getCurrentProfileReference();
         if(categoryRepository.existsByNameAndProfileId(categoryDTO.getName(), profile.getId())) {
             throw new RuntimeException("Category already exists");
         }
 
         CategoryEntity newCategory = toEntity(categoryDTO, profile);
         newCategory = categoryRepository.save(newCategory);
+        eventPublisher.publishEvent(new ProfileDataChangedEvent(profile.getId(), Source.CATEGORY, Action.CREATED, newCategory.getId()));
         return toDTO(newCategory);
     }
 
     // Get Categories for Current User
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getCategoriesForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        List<CategoryEntity> categories = categoryRepository.findByProfileId(profile.getId());
+        Long profileId = profileService.getCurrentProfileId();
+        List<CategoryEntity> categories = categoryRepository.findByProfileId(profileId);
         return categories.stream().map(this::toDTO).toList();
     }
 
     // Get Categories By Type for Current User
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getCategoriesByTypeForCurrentUser(String type) {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        List<CategoryEntity> categories = categoryRepository.findByTypeAndProfileId(type, profile.getId());
+        Long profileId = profileService.getCurrentProfileId();
+        List<CategoryEntity> categories = categoryRepository.findByTypeAndProfileId(type, profileId);
         return categories.stream().map(this::toDTO).toList();
     }
 
     // Update Category
+    @Transactional
     public CategoryDTO updateCategory(Long categoryId, CategoryDTO categoryDTO) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        Long profileId = profileService.getCurrentProfileId();
 
         CategoryEntity existingCategory = categoryRepository
-                .findByIdAndProfileId(categoryId, profile.getId())
+                .findByIdAndProfileId(categoryId, profileId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
         // name
@@ -67,6 +78,7 @@ public class CategoryService {
         }
 
         existingCategory = categoryRepository.save(existingCategory);
+        eventPublisher.publishEvent(new ProfileDataChangedEvent(profileId, Source.CATEGORY, Action.UPDATED, categoryId));
         return toDTO(existingCategory);
     }
 
@@ -0,0 +1,93 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.ExpenseDTO;
+import com.quantumsave.quantum_save.dto.IncomeDTO;
+import com.quantumsave.quantum_save.dto.RecentTransactionDTO;
+import com.quantumsave.quantum_save.entity.ProfileBalanceEntity;
+import com.quantumsave.quantum_save.repository.projection.TransactionView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the dashboard payload from the two sections DashboardService loads: the merged recent rows and the balance
+ * ledger. Pure CPU and allocation, no I/O.
+ */
+final class DashboardAssembler {
+
+    private DashboardAssembler() {
+    }
+
+    // Rows arrive merged newest first, so each list below keeps that order
+    static Map<String, Object> assemble(Long profileId, List<TransactionView> latest, ProfileBalanceEntity balance) {
+        Map<String, Object> returnValue = new LinkedHashMap<>();
+        List<IncomeDTO> latestIncomes = new ArrayList<>();
+        List<ExpenseDTO> latestExpenses = new ArrayList<>();
+        List<RecentTransactionDTO> recentTransactions = new ArrayList<>(latest.size());
+        for (TransactionView row : latest) {
+            if ("income".equals(row.getType())) {
+                latestIncomes.add(toIncomeDTO(row));
+            } else {
+                latestExpenses.add(toExpenseDTO(row));
+            }
+            recentTransactions.add(toRecentTransactionDTO(row, profileId));
+        }
+
+        // Totals come from the incrementally maintained ledger instead of SUM scans
+        returnValue.put("totalBalance", balance.getTotalIncome().subtract(balance.getTotalExpense()));
+        returnValue.put("totalIncome", balance.getTotalIncome());
+        returnValue.put("totalExpense", balance.getTotalExpense());
+        returnValue.put("recent5Expenses", latestExpenses);
+        returnValue.put("recent5Incomes", latestIncomes);
+        returnValue.put("recentTransactions", recentTransactions);
+        // Shared between requests once cached
+        return Collections.unmodifiableMap(returnValue);
+    }
+
+    // Helper Methods
+
+    private static IncomeDTO toIncomeDTO(TransactionView row) {
+        return IncomeDTO.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .icon(row.getIcon())
+                .categoryId(row.getCategoryId())
+                .categoryName(row.getCategoryName() != null ? row.getCategoryName() : "N/A")
+                .amount(row.getAmount())
+                .date(row.getDate())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    private static ExpenseDTO toExpenseDTO(TransactionView row) {
+        return ExpenseDTO.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .icon(row.getIcon())
+                .categoryId(row.getCategoryId())
+                .categoryName(row.getCategoryName() != null ? row.getCategoryName() : "N/A")
+                .amount(row.getAmount())
+                .date(row.getDate())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    private static RecentTransactionDTO toRecentTransactionDTO(TransactionView row, Long profileId) {
+        return RecentTransactionDTO.builder()
+                .id(row.getId())
+                .profileId(profileId)
+                .icon(row.getIcon())
+                .name(row.getName())
+                .amount(row.getAmount())
+                .date(row.getDate())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .type(row.getType())
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.quantumsave.quantum_save.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * In-process, size-bounded cache of assembled dashboard payloads keyed by profile id.
+ * Each entry remembers the data version it was loaded at and is only served for that version, so a write committed on
+ * another node (or not yet on the replica) can never pair a newer ETag with an older payload. Local mutations also
+ * drop the entry after commit.
+ * Hit/miss/eviction counters are published as cache.* metrics with cache=dashboard.
+ */
+@Component
+public class DashboardCache {
+
+    // Striped generations close the read-then-put race without tracking every profile ever invalidated
+    private static final int GENERATION_STRIPES = 1024;
+
+    private record Entry(long version, Map<String, Object> payload) {
+    }
+
+    private final Cache<Long, Entry> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Counter invalidations;
+
+    public DashboardCache(
+            MeterRegistry meterRegistry,
+            @Value("${quantum.save.dashboard.cache.max-size:10000}") long maxSize,
+            @Value("${quantum.save.dashboard.cache.ttl:5m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dashboard");
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", "dashboard")
+                .description("Dashboard entries dropped because the profile's data changed")
+                .register(meterRegistry);
+    }
+
+    // version is the one the caller built its ETag from, read before the loader runs
+    public Map<String, Object> get(Long profileId, long version, Supplier<Map<String, Object>> loader) {
+        Entry cached = cache.getIfPresent(profileId);
+        if (cached != null && cached.version() == version) {
+            return cached.payload();
+        }
+
+        int stripe = stripe(profileId);
+        long generation = generations.get(stripe);
+        Map<String, Object> loaded = loader.get();
+
+        // A mutation committed while we were reading: serve the result but don't cache it
+        if (generations.get(stripe) == generation) {
+            // A request that read an older version (lagging replica) never replaces a newer entry
+            cache.asMap().merge(profileId, new Entry(version, loaded),
+                    (existing, fresh) -> existing.version() > fresh.version() ? existing : fresh);
+            if (generations.get(stripe) != generation) {
+                cache.invalidate(profileId);
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long profileId) {
+        generations.incrementAndGet(stripe(profileId));
+        cache.invalidate(profileId);
+        invalidations.increment();
+    }
+
+    // Runs after commit (or immediately when published outside a transaction)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileDataChanged(ProfileDataChangedEvent event) {
+        invalidate(event.getProfileId());
+    }
+
+    private static int stripe(Long profileId) {
+        return (int) Math.floorMod(profileId, (long) GENERATION_STRIPES);
+    }
+}
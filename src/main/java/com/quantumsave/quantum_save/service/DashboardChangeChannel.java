@@ -0,0 +1,152 @@
+package com.quantumsave.quantum_save.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantumsave.quantum_save.dto.DashboardDeltaDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.function.BiConsumer;
+
+/**
+ * Carries dashboard deltas between nodes over PostgreSQL LISTEN/NOTIFY. publish() queues a NOTIFY in the caller's
+ * transaction, so it goes out only if and when that transaction commits, in commit order. Every node, the committing one
+ * included, listens on a connection of its own (outside the pools) and hands each delta to its subscriber.
+ * A node whose listener connection drops reconnects after reconnect-delay and misses what was sent meanwhile; the data
+ * version in every delta and heartbeat lets clients notice the gap and refetch /dashboard.
+ */
+@Component
+@Slf4j
+public class DashboardChangeChannel implements SmartLifecycle {
+
+    private static final String CHANNEL = "dashboard_deltas";
+    // Bounds how long stop() waits for the listener to notice
+    private static final int POLL_TIMEOUT_MS = 1000;
+
+    private record Notification(Long profileId, DashboardDeltaDTO delta) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final DataSourceProperties dataSourceProperties;
+    private final Duration reconnectDelay;
+
+    private volatile BiConsumer<Long, DashboardDeltaDTO> subscriber = (profileId, delta) -> { };
+    private volatile boolean running;
+    private Thread listener;
+
+    public DashboardChangeChannel(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            DataSourceProperties dataSourceProperties,
+            @Value("${quantum.save.dashboard.stream.reconnect-delay:5s}") Duration reconnectDelay
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.dataSourceProperties = dataSourceProperties;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    // Receives the deltas of every node, on the listener thread
+    public void subscribe(BiConsumer<Long, DashboardDeltaDTO> subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    // Joins the caller's transaction, if any. A delta is a few hundred bytes, well under pg_notify's 8000-byte limit
+    public void publish(Long profileId, DashboardDeltaDTO delta) {
+        try {
+            String payload = objectMapper.writeValueAsString(new Notification(profileId, delta));
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize dashboard delta", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("dashboard-delta-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            listener.join(POLL_TIMEOUT_MS * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Helper Methods
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Dashboard delta listener lost its connection, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    // Keepalive so a connection that silently went away is noticed rather than listened on forever
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        if (dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        properties.setProperty("tcpKeepAlive", "true");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private void receive(String payload) {
+        try {
+            Notification notification = objectMapper.readValue(payload, Notification.class);
+            subscriber.accept(notification.profileId(), notification.delta());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Dropping dashboard delta that could not be delivered: {}", e.getMessage());
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,71 +1,96 @@
 package com.quantumsave.quantum_save.service;
 
-import com.quantumsave.quantum_save.dto.ExpenseDTO;
-import com.quantumsave.quantum_save.dto.IncomeDTO;
-import com.quantumsave.quantum_save.dto.RecentTransactionDTO;
-import com.quantumsave.quantum_save.entity.ProfileEntity;
+import com.quantumsave.quantum_save.entity.ProfileBalanceEntity;
+import com.quantumsave.quantum_save.repository.DashboardRepository;
+import com.quantumsave.quantum_save.repository.projection.TransactionView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.LinkedHashMap;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
-import java.util.stream.Collectors;
-import static java.util.stream.Stream.concat;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private final IncomeService incomeService;
-    private final ExpenseService expenseService;
-    private final ProfileService profileService;
+    private static final int RECENT_LIMIT = 5;
+
+    private final BalanceService balanceService;
+    private final DashboardRepository dashboardRepository;
+    private final DashboardCache dashboardCache;
+    private final SimpleAsyncTaskExecutor dashboardExecutor;
+    private final Semaphore dashboardSectionPermits;
+    private final ArchiveWatermark archiveWatermark;
+    private final DataVersionService dataVersionService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${quantum.save.dashboard.fan-out.timeout:3s}")
+    private Duration sectionTimeout;
+
+    // Served from DashboardCache while the profile's data version stays at version (the one in the caller's ETag)
+    public Map<String, Object> getDashboardData(Long profileId, long version){
+        return dashboardCache.get(profileId, version, () -> loadDashboardData(profileId, version));
+    }
+
+    // Two independent sections per load (the profile id comes from the JWT): the recent rows (one union, after a version
+    // check on the same server) and a primary-key read of the balance ledger.
+    // They run concurrently on virtual threads, so a miss costs the slower of the two rather than their sum.
+    private Map<String, Object> loadDashboardData(Long profileId, long version) {
+        SectionScope scope = new SectionScope(dashboardExecutor, dashboardSectionPermits, sectionTimeout);
+        FutureTask<List<TransactionView>> latestSection = scope.fork(() -> findLatestTransactions(profileId, version));
+        FutureTask<ProfileBalanceEntity> balanceSection = scope.fork(() -> balanceService.getBalance(profileId));
+        scope.join();
+        return DashboardAssembler.assemble(profileId, latestSection.resultNow(), balanceSection.resultNow());
+    }
+
+    // Helper Methods
+
+    // The payload is cached and tagged with version, so its rows must be at least that new. They are read in a read-only
+    // transaction (the replica when one is configured) that first checks the version on the same server; a server still
+    // behind it is skipped and the rows are read outside a transaction, i.e. on the primary
+    private List<TransactionView> findLatestTransactions(Long profileId, long version) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<TransactionView> latest = readOnly.execute(status ->
+                dataVersionService.currentVersion(profileId) >= version ? queryLatestTransactions(profileId) : null);
+        return latest != null ? latest : queryLatestTransactions(profileId);
+    }
+
+    // Hot rows first; only a profile whose latest N of a type reach below the archive watermark also reads the archive
+    private List<TransactionView> queryLatestTransactions(Long profileId) {
+        List<TransactionView> latest = dashboardRepository.findLatestTransactions(profileId, RECENT_LIMIT);
+        if (!reachesArchive(latest)) {
+            return latest;
+        }
+        Map<String, Integer> kept = new HashMap<>();
+        return dashboardRepository.findLatestTransactionsAcrossTiers(profileId, RECENT_LIMIT).stream()
+                .filter(row -> kept.merge(row.getType(), 1, Integer::sum) <= RECENT_LIMIT)
+                .toList();
+    }
 
-    public Map<String, Object> getDashboardData(){
-        ProfileEntity profile = profileService.getCurrentProfile();
-        Map<String, Object> returnValue = new LinkedHashMap<>();
-        List<IncomeDTO> latestIncomes = incomeService.getLatest5IncomesForCurrentUser();
-        List<ExpenseDTO> latestExpenses = expenseService.getLatest5ExpensesForCurrentUser();
-        List<RecentTransactionDTO> recentTransactions =  concat(latestIncomes.stream().map(income ->
-                RecentTransactionDTO.builder()
-                        .id(income.getId())
-                        .profileId(profile.getId())
-                        .icon(income.getIcon())
-                        .name(income.getName())
-                        .amount(income.getAmount())
-                        .date(income.getDate())
-                        .createdAt(income.getCreatedAt())
-                        .updatedAt(income.getUpdatedAt())
-                        .type("income")
-                        .build()),
-                latestExpenses.stream().map(expense ->
-                        RecentTransactionDTO.builder()
-                                .id(expense.getId())
-                                .profileId(profile.getId())
-                                .icon(expense.getIcon())
-                                .name(expense.getName())
-                                .amount(expense.getAmount())
-                                .date(expense.getDate())
-                                .createdAt(expense.getCreatedAt())
-                                .updatedAt(expense.getUpdatedAt())
-                                .type("expense")
-                                .build()))
-                .sorted((a,b) -> {
-                    int cmp = b.getDate().compareTo(a.getDate());
-                    if(cmp == 0 && a.getCreatedAt() != null && b.getCreatedAt() != null){
-                        return b.getCreatedAt().compareTo(a.getCreatedAt());
-                    }
-                    return cmp;
-                }).collect(Collectors.toList());
-        returnValue.put("totalBalance",
-                incomeService.getTotalIncomeForCurrentUser()
-                        .subtract(expenseService.getTotalExpenseForCurrentUser()));
-        returnValue.put("totalIncome", incomeService.getTotalIncomeForCurrentUser());
-        returnValue.put("totalExpense", expenseService.getTotalExpenseForCurrentUser());
-        returnValue.put("recent5Expenses", latestExpenses);
-        returnValue.put("recent5Incomes", latestIncomes);
-        returnValue.put("recentTransactions", recentTransactions);
-        return returnValue;
+    // Archived rows are all dated before the watermark, so they only matter when a type has fewer than N hot rows
+    // or its oldest one is already below it
+    private boolean reachesArchive(List<TransactionView> latest) {
+        Map<String, Integer> counts = new HashMap<>();
+        Map<String, LocalDate> oldest = new HashMap<>();
+        for (TransactionView row : latest) {
+            counts.merge(row.getType(), 1, Integer::sum);
+            oldest.put(row.getType(), row.getDate());
+        }
+        for (String type : List.of(RollupService.TYPE_INCOME, RollupService.TYPE_EXPENSE)) {
+            if (counts.getOrDefault(type, 0) < RECENT_LIMIT || archiveWatermark.reaches(oldest.get(type))) {
+                return true;
+            }
+        }
+        return false;
     }
 }
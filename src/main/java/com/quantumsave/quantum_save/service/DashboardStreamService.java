@@ -0,0 +1,186 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.DashboardDeltaDTO;
+import com.quantumsave.quantum_save.entity.ProfileBalanceEntity;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live dashboard deltas over server-sent events (/dashboard/stream).
+ * Each connection has a bounded queue drained by its own virtual thread, so a slow client never blocks the committing request.
+ * Deltas go out through DashboardChangeChannel and come back on every node, so a stream sees changes committed anywhere.
+ * Each delta and heartbeat carries the profile's data version (the one in /dashboard's ETag): a client that finds a gap,
+ * or reconnects, refetches /dashboard.
+ */
+@Service
+@Slf4j
+public class DashboardStreamService {
+
+    private final BalanceService balanceService;
+    private final ProfileService profileService;
+    private final DataVersionService dataVersionService;
+    private final DashboardChangeChannel dashboardChangeChannel;
+    private final int maxConnections;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    public DashboardStreamService(
+            BalanceService balanceService,
+            ProfileService profileService,
+            DataVersionService dataVersionService,
+            DashboardChangeChannel dashboardChangeChannel,
+            MeterRegistry meterRegistry,
+            @Value("${quantum.save.dashboard.stream.max-connections:1000}") int maxConnections,
+            @Value("${quantum.save.dashboard.stream.buffer-size:32}") int bufferSize,
+            @Value("${quantum.save.dashboard.stream.timeout:30m}") Duration timeout
+    ) {
+        this.balanceService = balanceService;
+        this.profileService = profileService;
+        this.dataVersionService = dataVersionService;
+        this.dashboardChangeChannel = dashboardChangeChannel;
+        this.maxConnections = maxConnections;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        Gauge.builder("dashboard.stream.connections", openConnections, AtomicInteger::get).register(meterRegistry);
+        dashboardChangeChannel.subscribe(this::deliver);
+    }
+
+    // Returns null when this node already holds max-connections streams
+    public SseEmitter openForCurrentUser() {
+        Long profileId = profileService.getCurrentProfileId();
+        if (openConnections.incrementAndGet() > maxConnections) {
+            openConnections.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(profileId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        connections.computeIfAbsent(profileId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(error -> connection.close());
+
+        Thread.ofVirtual().name("dashboard-stream-" + profileId).start(connection::drain);
+        return emitter;
+    }
+
+    // Keeps proxies and load balancers from closing idle streams, and tells each client its profile's current version
+    // (one query for all profiles streaming from this node)
+    @Scheduled(fixedRateString = "${quantum.save.dashboard.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (connections.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> versions = dataVersionService.currentVersions(List.copyOf(connections.keySet()));
+        connections.forEach((profileId, set) -> {
+            Map<String, Long> heartbeat = Map.of("version", versions.getOrDefault(profileId, 0L));
+            set.forEach(connection -> connection.offer(SseEmitter.event().name("heartbeat").data(heartbeat)));
+        });
+    }
+
+    // Before commit, inside the changing transaction: the totals and version are the ones it commits (its ledger and
+    // version rows are locked until then), and the NOTIFY is dropped with it if it rolls back
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProfileDataChanged(ProfileDataChangedEvent event) {
+        if (event.getSource() == ProfileDataChangedEvent.Source.CATEGORY) {
+            return;
+        }
+        ProfileBalanceEntity balance = balanceService.getBalance(event.getProfileId());
+        DashboardDeltaDTO delta = DashboardDeltaDTO.builder()
+                .type(event.getSource().name().toLowerCase(Locale.ROOT))
+                .action(event.getAction().name().toLowerCase(Locale.ROOT))
+                .id(event.getEntityId())
+                .transaction(event.getTransaction())
+                .totalBalance(balance.getTotalIncome().subtract(balance.getTotalExpense()))
+                .totalIncome(balance.getTotalIncome())
+                .totalExpense(balance.getTotalExpense())
+                .version(dataVersionService.currentVersion(event.getProfileId()))
+                .build();
+        dashboardChangeChannel.publish(event.getProfileId(), delta);
+    }
+
+    // Deltas committed on any node, on DashboardChangeChannel's listener thread
+    private void deliver(Long profileId, DashboardDeltaDTO delta) {
+        Set<Connection> listeners = connections.get(profileId);
+        if (listeners != null) {
+            listeners.forEach(connection -> connection.offer(SseEmitter.event().name("delta").data(delta)));
+        }
+    }
+
+    private final class Connection {
+
+        private final Long profileId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread sender;
+
+        private Connection(Long profileId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this.profileId = profileId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        // A full buffer means the client stopped reading; drop it and let it reconnect and refetch
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (!closed.get() && !queue.offer(event)) {
+                log.debug("Dashboard stream buffer full, closing stream for profile {}", profileId);
+                emitter.complete();
+                close();
+            }
+        }
+
+        private void drain() {
+            sender = Thread.currentThread();
+            try {
+                while (!closed.get()) {
+                    emitter.send(queue.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // Client went away; the container reports it through onError/onCompletion as well
+                emitter.completeWithError(e);
+            } finally {
+                close();
+            }
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            openConnections.decrementAndGet();
+            connections.computeIfPresent(profileId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            Thread thread = sender;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent;
+import com.quantumsave.quantum_save.repository.ProfileDataVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-profile data version used for conditional GETs.
+ * Bumped inside the mutating transaction, so a version is never visible before the data it describes.
+ */
+@Service
+@RequiredArgsConstructor
+public class DataVersionService {
+
+    private final ProfileDataVersionRepository profileDataVersionRepository;
+    private final ProfileService profileService;
+
+    // Synchronous listener: runs inside the publisher's transaction (not after commit)
+    @EventListener
+    @Transactional
+    public void onProfileDataChanged(ProfileDataChangedEvent event) {
+        bump(event.getProfileId());
+    }
+
+    @Transactional
+    public void bump(Long profileId) {
+        profileDataVersionRepository.increment(profileId);
+    }
+
+    public long currentVersion(Long profileId) {
+        return profileDataVersionRepository.findVersion(profileId).orElse(0L);
+    }
+
+    // Several profiles in one query; profiles that never changed are missing (version 0)
+    public Map<Long, Long> currentVersions(Collection<Long> profileIds) {
+        Map<Long, Long> versions = new HashMap<>();
+        profileDataVersionRepository.findByProfileIdIn(profileIds)
+                .forEach(version -> versions.put(version.getProfileId(), version.getVersion()));
+        return versions;
+    }
+
+    // Conditional GET of the current user's data: null once a 304 has been set up, otherwise the body, whose ETag is
+    // already on the response. Version and body are read in one read-only transaction, so on the same server (the
+    // replica when reads are routed there) and version first: the body is never older than the version it is tagged with
+    @Transactional(readOnly = true)
+    public <T> T readIfModified(WebRequest webRequest, Supplier<T> body, String... qualifiers) {
+        Long profileId = profileService.getCurrentProfileId();
+        if (webRequest.checkNotModified(etag(profileId, currentVersion(profileId), qualifiers))) {
+            return null;
+        }
+        return body.get();
+    }
+
+    // Strong ETag; the profile id keeps shared browser caches from matching across users
+    public String etag(Long profileId, long version, String... qualifiers) {
+        StringBuilder etag = new StringBuilder("\"")
+                .append(profileId).append('-').append(version);
+        for (String qualifier : qualifiers) {
+            etag.append('-').append(qualifier);
+        }
+        return etag.append('"').toString();
+    }
+}
@@ -1,6 +1,7 @@
 package com.quantumsave.quantum_save.service;
 
 import com.quantumsave.quantum_save.entity.ProfileEntity;
+import com.quantumsave.quantum_save.repository.ProfileRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -12,31 +13,33 @@ import java.util.Locale;
 @RequiredArgsConstructor
 public class EmailExpenseExcelService {
 
-    private final ExcelExportService excelExportService;
-    private final ProfileService profileService;
+    private final ProfileRepository profileRepository;
     private final EmailService emailService;
 
-    public void sendExpenseExcelToCurrentUser() {
-        ProfileEntity user = profileService.getCurrentProfile();
+    // Called by ExportJobWorker once an EMAIL job's report has been written
+    public void sendExpenseReport(Long profileId, LocalDate startDate, LocalDate endDate, String filename, byte[] report) {
+        ProfileEntity profile = profileRepository.findById(profileId)
+                .orElseThrow(() -> new RuntimeException("Profile not found"));
 
-        String toEmail = user.getEmail();
+        String toEmail = profile.getEmail();
         if (toEmail == null || toEmail.isBlank()) {
             throw new RuntimeException("User email not found");
         }
 
-        byte[] excelBytes = excelExportService.exportCurrentMonthExpenseExcelForCurrentUser();
-
-        LocalDate now = LocalDate.now();
-        String monthLabel = now.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + " " + now.getYear();
-
-        String filename = "expense_report_" + now + ".xlsx";
-
         emailService.sendExpenseReportEmail(
                 toEmail,
-                user.getFullName(),
-                monthLabel,
+                profile.getFullName(),
+                periodLabel(startDate, endDate),
                 filename,
-                excelBytes
+                report
         );
     }
+
+    // "October 2026" for a range inside one month that starts on the 1st, otherwise "2026-01-01 to 2026-03-31"
+    private static String periodLabel(LocalDate startDate, LocalDate endDate) {
+        if (startDate.getDayOfMonth() == 1 && startDate.withDayOfMonth(1).equals(endDate.withDayOfMonth(1))) {
+            return startDate.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + " " + startDate.getYear();
+        }
+        return startDate + " to " + endDate;
+    }
 }
@@ -1,157 +1,106 @@
 package com.quantumsave.quantum_save.service;
 
-import com.quantumsave.quantum_save.dto.ExpenseDTO;
-import com.quantumsave.quantum_save.dto.IncomeDTO;
+import com.quantumsave.quantum_save.dto.FilterDTO;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayOutputStream;
-import java.util.List;
-
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import static com.quantumsave.quantum_save.service.ExportWriter.EXPENSE_COLUMNS;
+import static com.quantumsave.quantum_save.service.ExportWriter.INCOME_COLUMNS;
+
+/**
+ * Income/expense exports as XLSX, CSV or gzip-compressed CSV (see ExportFormat).
+ * Rows are pulled from a database cursor (current month) or in keyset chunks (range exports) and handed to
+ * ExportWriter one at a time, so memory stays flat however many rows are exported.
+ * ExportWriter builds workbooks with SXSSF: only the last row-window rows are kept on the heap, older rows are
+ * flushed to a (gzip-compressed) temp file, and the finished workbook is zipped straight into the target stream.
+ * CSV skips POI entirely: CsvWriter formats each row straight into a byte buffer.
+ */
 @Service
 @RequiredArgsConstructor
 public class ExcelExportService {
 
     private final IncomeService incomeService;
     private final ExpenseService expenseService;
+    private final TransactionFilterService transactionFilterService;
+    private final ExportWriter exportWriter;
+    private final DataVersionService dataVersionService;
 
-    public byte[] exportCurrentMonthIncomeExcelForCurrentUser() {
-        List<IncomeDTO> incomes = incomeService.getCurrentMonthIncomesForCurrentUser();
-
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-
-            Sheet sheet = workbook.createSheet("Income");
-
-            // Styles
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle amountStyle = createAmountStyle(workbook);
-
-            // ✅ Only the columns you want
-            String[] headers = {"ID", "Name", "Category", "Amount", "Date"};
-
-            // Header row
-            Row headerRow = sheet.createRow(0);
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-
-            // Data rows
-            int rowIdx = 1;
-            for (IncomeDTO income : incomes) {
-                Row row = sheet.createRow(rowIdx++);
-
-                row.createCell(0).setCellValue(income.getId() != null ? income.getId() : 0L);
-                row.createCell(1).setCellValue(nullSafe(income.getName()));
-                row.createCell(2).setCellValue(nullSafe(income.getCategoryName()));
+    // Rows per keyset query in range exports
+    @Value("${quantum.save.export.chunk-size:1000}")
+    private int chunkSize;
 
-                Cell amountCell = row.createCell(3);
-                amountCell.setCellValue(income.getAmount() != null ? income.getAmount().doubleValue() : 0.0);
-                amountCell.setCellStyle(amountStyle);
+    @Value("${quantum.save.export.max-range-months:60}")
+    private int maxRangeMonths;
 
-                row.createCell(4).setCellValue(income.getDate() != null ? income.getDate().toString() : "");
-            }
-
-            // ✅ Prevent header clipping (this is why you saw "es")
-            sheet.setColumnWidth(0, 3500);  // ID
-            sheet.setColumnWidth(1, 9000);  // Name
-            sheet.setColumnWidth(2, 7000);  // Category
-            sheet.setColumnWidth(3, 5000);  // Amount
-            sheet.setColumnWidth(4, 5000);  // Date
-
-            // Optional: also auto-size (keeps it clean)
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
-            workbook.write(out);
-            return out.toByteArray();
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate income Excel file", e);
-        }
+    // In-memory copy for email attachments
+    @Transactional(readOnly = true)
+    public byte[] exportCurrentMonthIncomeExcelForCurrentUser() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportWriter.write(ExportFormat.XLSX, incomeService.streamCurrentMonthIncomesForCurrentUser(), out, INCOME_COLUMNS);
+        return out.toByteArray();
     }
 
+    @Transactional(readOnly = true)
     public byte[] exportCurrentMonthExpenseExcelForCurrentUser() {
-        List<ExpenseDTO> expenses = expenseService.getCurrentMonthExpensesForCurrentUser();
-
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-
-            Sheet sheet = workbook.createSheet("Expense");
-
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle amountStyle = createAmountStyle(workbook);
-
-            String[] headers = {"ID", "Name", "Category", "Amount", "Date"};
-
-            Row headerRow = sheet.createRow(0);
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-
-            int rowIdx = 1;
-            for (ExpenseDTO expense : expenses) {
-                Row row = sheet.createRow(rowIdx++);
-
-                row.createCell(0).setCellValue(expense.getId() != null ? expense.getId() : 0L);
-                row.createCell(1).setCellValue(nullSafe(expense.getName()));
-                row.createCell(2).setCellValue(nullSafe(expense.getCategoryName()));
-
-                Cell amountCell = row.createCell(3);
-                amountCell.setCellValue(
-                        expense.getAmount() != null ? expense.getAmount().doubleValue() : 0.0
-                );
-                amountCell.setCellStyle(amountStyle);
-
-                row.createCell(4).setCellValue(
-                        expense.getDate() != null ? expense.getDate().toString() : ""
-                );
-            }
-
-            sheet.setColumnWidth(0, 3500);
-            sheet.setColumnWidth(1, 9000);
-            sheet.setColumnWidth(2, 7000);
-            sheet.setColumnWidth(3, 5000);
-            sheet.setColumnWidth(4, 5000);
-
-            workbook.write(out);
-            return out.toByteArray();
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate expense Excel file", e);
-        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportWriter.write(ExportFormat.XLSX, expenseService.streamCurrentMonthExpensesForCurrentUser(), out, EXPENSE_COLUMNS);
+        return out.toByteArray();
     }
 
-    private static String nullSafe(String s) {
-        return s == null ? "" : s;
+    // Streamed downloads: runs on the async response thread, in its own read-only transaction that holds the cursor.
+    // Returns the profile's data version, read in that transaction before the rows (on the same server), so the rows
+    // are at least that new; ExportFileCache files the output under it
+    @Transactional(readOnly = true)
+    public long writeCurrentMonthIncomes(Long profileId, ExportFormat format, OutputStream out) {
+        long version = dataVersionService.currentVersion(profileId);
+        exportWriter.write(format, incomeService.streamCurrentMonthIncomes(profileId), out, INCOME_COLUMNS);
+        return version;
     }
 
-    private static CellStyle createHeaderStyle(Workbook wb) {
-        Font font = wb.createFont();
-        font.setBold(true);
+    @Transactional(readOnly = true)
+    public long writeCurrentMonthExpenses(Long profileId, ExportFormat format, OutputStream out) {
+        long version = dataVersionService.currentVersion(profileId);
+        exportWriter.write(format, expenseService.streamCurrentMonthExpenses(profileId), out, EXPENSE_COLUMNS);
+        return version;
+    }
 
-        CellStyle style = wb.createCellStyle();
-        style.setFont(font);
-        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
+    // Range exports take the /filter criteria; checked on the request thread so a bad request is still a 400.
+    // A missing end date means today, as in /filter
+    public void checkRangeExport(FilterDTO filter) {
+        if (!"income".equalsIgnoreCase(filter.getType()) && !"expense".equalsIgnoreCase(filter.getType())) {
+            throw new IllegalArgumentException("Invalid export type. Must be 'income' or 'expense'");
+        }
+        if (filter.getStartDate() == null) {
+            throw new IllegalArgumentException("Start date is required for exports");
+        }
+        if (filter.getEndDate() == null) {
+            filter.setEndDate(LocalDate.now());
+        }
+        if (filter.getStartDate().isAfter(filter.getEndDate())) {
+            throw new IllegalArgumentException("Start date must be on or before end date");
+        }
+        if (filter.getEndDate().isAfter(filter.getStartDate().plusMonths(maxRangeMonths))) {
+            throw new IllegalArgumentException("Exports are limited to " + maxRangeMonths + " months per request");
+        }
+        transactionFilterService.sortKey(filter.getSortField());
     }
 
-    private static CellStyle createAmountStyle(Workbook wb) {
-        CellStyle style = wb.createCellStyle();
-        DataFormat format = wb.createDataFormat();
-        style.setDataFormat(format.getFormat("#,##0.00"));
-        return style;
+    // Runs on the async response thread, in one read-only transaction that serves every chunk; returns the data version
+    // as the month exports do
+    @Transactional(readOnly = true)
+    public long writeRange(Long profileId, FilterDTO filter, ExportFormat format, OutputStream out) {
+        long version = dataVersionService.currentVersion(profileId);
+        if ("income".equalsIgnoreCase(filter.getType())) {
+            exportWriter.write(format, transactionFilterService.streamIncomes(profileId, filter, chunkSize), out, INCOME_COLUMNS);
+        } else {
+            exportWriter.write(format, transactionFilterService.streamExpenses(profileId, filter, chunkSize), out, EXPENSE_COLUMNS);
+        }
+        return version;
     }
 }
@@ -1,19 +1,29 @@
 package com.quantumsave.quantum_save.service;
 
 import com.quantumsave.quantum_save.dto.ExpenseDTO;
+import com.quantumsave.quantum_save.dto.RecentTransactionDTO;
 import com.quantumsave.quantum_save.entity.CategoryEntity;
 import com.quantumsave.quantum_save.entity.ExpenseEntity;
 import com.quantumsave.quantum_save.entity.ProfileEntity;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent.Action;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent.Source;
 import com.quantumsave.quantum_save.repository.CategoryRepository;
 import com.quantumsave.quantum_save.repository.ExpenseRepository;
+import com.quantumsave.quantum_save.repository.projection.ArchivedTransactionView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.apache.commons.math3.analysis.function.Exp;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -22,68 +32,132 @@ public class ExpenseService {
     private final CategoryRepository categoryRepository;
     private final ExpenseRepository expenseRepository;
     private final ProfileService profileService;
+    private final BalanceService balanceService;
+    private final RollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionBatchSupport transactionBatchSupport;
+    private final TransactionArchiveService transactionArchiveService;
 
 
+    @Transactional
     public ExpenseDTO addExpense(ExpenseDTO expenseDTO) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        ProfileEntity profile = profileService.getCurrentProfileReference();
         CategoryEntity category = categoryRepository.findById(expenseDTO.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         ExpenseEntity newExpense =  toEntity(expenseDTO, profile, category);
         newExpense = expenseRepository.save(newExpense);
+        balanceService.applyExpenseDelta(profile.getId(), newExpense.getAmount());
+        rollupService.apply(profile.getId(), category.getId(), newExpense.getDate(), RollupService.TYPE_EXPENSE, newExpense.getAmount(), 1);
+        eventPublisher.publishEvent(new ProfileDataChangedEvent(profile.getId(), Source.EXPENSE, Action.CREATED, newExpense.getId(),
+                toRecentTransactionDTO(newExpense, profile.getId())));
         return toDTO(newExpense);
 
     }
 
+    // Bulk import: the whole array is validated up front, categories are resolved in one query, and the rows go out as
+    // JDBC batches on pooled sequence ids. The ledger gets one delta, rollups one per (category, day), listeners one event.
+    @Transactional
+    public List<ExpenseDTO> addExpenses(List<ExpenseDTO> expenseDTOs) {
+        ProfileEntity profile = profileService.getCurrentProfileReference();
+        Map<Long, CategoryEntity> categories = transactionBatchSupport.resolveCategories(profile.getId(), "expense", expenseDTOs,
+                ExpenseDTO::getCategoryId, ExpenseDTO::getAmount);
+
+        List<ExpenseEntity> entities = new ArrayList<>(expenseDTOs.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (ExpenseDTO dto : expenseDTOs) {
+            entities.add(toEntity(dto, profile, categories.get(dto.getCategoryId())));
+            total = total.add(dto.getAmount());
+        }
+        List<ExpenseEntity> saved = expenseRepository.saveAll(entities);
+
+        balanceService.applyExpenseDelta(profile.getId(), total);
+        transactionBatchSupport.applyRollups(profile.getId(), RollupService.TYPE_EXPENSE, saved,
+                e -> e.getCategory().getId(), ExpenseEntity::getDate, ExpenseEntity::getAmount);
+        eventPublisher.publishEvent(new ProfileDataChangedEvent(profile.getId(), Source.EXPENSE, Action.CREATED, null));
+        return saved.stream().map(ExpenseService::toDTO).toList();
+    }
+
     // Retrieves all expenses for current month
+    @Transactional(readOnly = true)
     public List<ExpenseDTO> getCurrentMonthExpensesForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        Long profileId = profileService.getCurrentProfileId();
         LocalDate now = LocalDate.now();
         LocalDate startDate = now.withDayOfMonth(1);
         LocalDate endDate = now.withDayOfMonth(now.lengthOfMonth());
-        List<ExpenseEntity> list = expenseRepository.findByProfileIdAndDateBetween(profile.getId(), startDate, endDate);
-        return list.stream().map(this::toDTO).toList();
+        return expenseRepository.findDTOsByProfileIdAndDateBetween(profileId, startDate, endDate);
     }
 
-    // Delete Expense By ID for Current User
+    // Same rows as a forward-only cursor for exports. The caller's transaction keeps the cursor open, so the stream
+    // must be consumed and closed inside it (MANDATORY fails fast when there is none)
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<ExpenseDTO> streamCurrentMonthExpensesForCurrentUser() {
+        return streamCurrentMonthExpenses(profileService.getCurrentProfileId());
+    }
+
+    // Profile passed in by callers that run off the request thread (streamed downloads)
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<ExpenseDTO> streamCurrentMonthExpenses(Long profileId) {
+        LocalDate now = LocalDate.now();
+        return expenseRepository.streamDTOsByProfileIdAndDateBetween(profileId, now.withDayOfMonth(1), now.withDayOfMonth(now.lengthOfMonth()));
+    }
+
+    // Delete Expense By ID for Current User (hot or archived)
+    @Transactional
     public void deleteExpense(Long expenseId) {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        ExpenseEntity entity =   expenseRepository.findById(expenseId)
-                .orElseThrow(()-> new RuntimeException("Expense not found"));
-        if(!entity.getProfile().getId().equals(profile.getId())) {
+        Long profileId = profileService.getCurrentProfileId();
+        // Taken before the lookup, as archiveChunk does, so the row cannot be moved to the archive between the two
+        balanceService.lockProfile(profileId);
+        ExpenseEntity entity = expenseRepository.findById(expenseId).orElse(null);
+        if (entity == null) {
+            deleteArchivedExpense(profileId, expenseId);
+            return;
+        }
+        if(!entity.getProfile().getId().equals(profileId)) {
             throw new RuntimeException("Unauthorized to deleted this expense");
         }
         expenseRepository.delete(entity);
+        balanceService.applyExpenseDelta(profileId, entity.getAmount() != null ? entity.getAmount().negate() : null);
+        rollupService.apply(profileId, entity.getCategory().getId(), entity.getDate(), RollupService.TYPE_EXPENSE,
+                entity.getAmount() != null ? entity.getAmount().negate() : null, -1);
+        eventPublisher.publishEvent(new ProfileDataChangedEvent(profileId, Source.EXPENSE, Action.DELETED, expenseId));
     }
 
     // Get Latest 5 Expenses for Current User (For Dashboard)
+    @Transactional(readOnly = true)
     public List<ExpenseDTO> getLatest5ExpensesForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        List<ExpenseEntity> list = expenseRepository.findTop5ByProfileIdOrderByDateDesc(profile.getId());
-        return list.stream().map(this::toDTO).toList();
+        Long profileId = profileService.getCurrentProfileId();
+        List<ExpenseEntity> list = expenseRepository.findTop5ByProfileIdOrderByDateDesc(profileId);
+        return list.stream().map(ExpenseService::toDTO).toList();
     }
 
     // Get Total Expenses Of Current User
+    // Read from the balance ledger, which also covers archived rows
+    @Transactional
     public BigDecimal getTotalExpenseForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        BigDecimal totalExpense = expenseRepository.findTotalExpenseByProfileId(profile.getId());
-        return totalExpense != null ? totalExpense : BigDecimal.ZERO;
-    }
-
-    // Filter Expenses
-    public List<ExpenseDTO> filterExpenses(LocalDate startDate, LocalDate endDate, String keyword, Sort sort) {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        List<ExpenseEntity> list = expenseRepository.findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(profile.getId(), startDate, endDate, keyword, sort);
-        return list.stream().map(this::toDTO).toList();
+        Long profileId = profileService.getCurrentProfileId();
+        return balanceService.getBalance(profileId).getTotalExpense();
     }
 
     // Notifications
+    @Transactional(readOnly = true)
     public List<ExpenseDTO> getExpensesForUserOnDate(Long profileId, LocalDate date) {
         List<ExpenseEntity> list = expenseRepository.findByProfileIdAndDate(profileId, date);
-        return list.stream().map(this::toDTO).toList();
+        return list.stream().map(ExpenseService::toDTO).toList();
     }
 
 
     // Helper Methods
+
+    // The feed, /filter and exports still list archived rows, so they can be deleted like hot ones
+    private void deleteArchivedExpense(Long profileId, Long expenseId) {
+        ArchivedTransactionView row = transactionArchiveService.deleteArchived(profileId, RollupService.TYPE_EXPENSE, expenseId)
+                .orElseThrow(() -> new RuntimeException("Expense not found"));
+        BigDecimal delta = row.getAmount() != null ? row.getAmount().negate() : null;
+        balanceService.applyExpenseDelta(profileId, delta);
+        rollupService.apply(profileId, row.getCategoryId(), row.getDate(), RollupService.TYPE_EXPENSE, delta, -1);
+        eventPublisher.publishEvent(new ProfileDataChangedEvent(profileId, Source.EXPENSE, Action.DELETED, expenseId));
+    }
+
     private ExpenseEntity toEntity(ExpenseDTO expenseDTO, ProfileEntity profile, CategoryEntity category) {
         return ExpenseEntity.builder()
                 .name(expenseDTO.getName())
@@ -96,7 +170,8 @@ public class ExpenseService {
     }
 
 
-    private ExpenseDTO toDTO(ExpenseEntity expenseEntity) {
+    // Static and package-private: touches no collaborator, so the mapping benchmark calls it without a service
+    static ExpenseDTO toDTO(ExpenseEntity expenseEntity) {
         CategoryEntity category = expenseEntity.getCategory();
 
         return ExpenseDTO.builder()
@@ -113,7 +188,22 @@ public class ExpenseService {
     }
 
 
-    private String resolveIcon(String incomingIcon, CategoryEntity category) {
+    private RecentTransactionDTO toRecentTransactionDTO(ExpenseEntity expenseEntity, Long profileId) {
+        return RecentTransactionDTO.builder()
+                .id(expenseEntity.getId())
+                .profileId(profileId)
+                .icon(resolveIcon(expenseEntity.getIcon(), expenseEntity.getCategory()))
+                .name(expenseEntity.getName())
+                .amount(expenseEntity.getAmount())
+                .date(expenseEntity.getDate())
+                .createdAt(expenseEntity.getCreatedAt())
+                .updatedAt(expenseEntity.getUpdatedAt())
+                .type("expense")
+                .build();
+    }
+
+
+    private static String resolveIcon(String incomingIcon, CategoryEntity category) {
         if (incomingIcon != null && !incomingIcon.trim().isEmpty()) {
             return incomingIcon.trim();
         }
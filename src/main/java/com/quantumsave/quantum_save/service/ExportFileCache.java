@@ -0,0 +1,284 @@
+package com.quantumsave.quantum_save.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.quantumsave.quantum_save.util.HashUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generated export files kept on local disk, bounded by their total size (least recently used go first).
+ * A file is found by a hash of the profile, its data version and the request, so any change to the profile's data
+ * makes its old files unreachable without an invalidation; they simply age out. Misses are written to the response
+ * and to the cache in one pass; hits are handed back as files, for the container to send (see ExcelController).
+ * Hit/miss/eviction counters are published as cache.* metrics with cache=export-files.
+ */
+@Component
+@Slf4j
+public class ExportFileCache {
+
+    private static final int KEY_LENGTH = 64;
+    private static final String PART_SUFFIX = ".part";
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    public record CachedFile(Path file, long size) {
+    }
+
+    // One export, returning the data version it read in the same transaction as its rows, before them
+    // (see ExcelExportService): the rows are at least that new
+    @FunctionalInterface
+    public interface VersionedExport {
+        long writeTo(OutputStream out) throws IOException;
+    }
+
+    private record Evicted(Path file, Instant at) {
+    }
+
+    private final DataVersionService dataVersionService;
+    private final boolean enabled;
+    private final Path dir;
+    private final long maxFileBytes;
+    private final Duration deleteDelay;
+    private final Cache<String, CachedFile> files;
+    private final Queue<Evicted> evicted = new ConcurrentLinkedQueue<>();
+
+    public ExportFileCache(
+            DataVersionService dataVersionService,
+            MeterRegistry meterRegistry,
+            @Value("${quantum.save.export.cache.enabled:true}") boolean enabled,
+            @Value("${quantum.save.export.cache.dir:${java.io.tmpdir}/quantum-save-export-cache}") Path dir,
+            @Value("${quantum.save.export.cache.max-size:512MB}") DataSize maxSize,
+            @Value("${quantum.save.export.cache.max-file-size:64MB}") DataSize maxFileSize,
+            @Value("${quantum.save.export.cache.delete-delay:1m}") Duration deleteDelay
+    ) {
+        this.dataVersionService = dataVersionService;
+        this.enabled = enabled;
+        this.dir = dir;
+        this.maxFileBytes = maxFileSize.toBytes();
+        this.deleteDelay = deleteDelay;
+        // Weighed in KB so a weight fits an int; files leave the map at once but stay on disk for delete-delay
+        this.files = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, maxSize.toKilobytes()))
+                .weigher((String key, CachedFile file) -> (int) Math.max(1, (file.size() + 1023) / 1024))
+                .removalListener((String key, CachedFile file, RemovalCause cause) -> {
+                    if (file != null) {
+                        evicted.add(new Evicted(file.file(), Instant.now()));
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, files, "export-files");
+    }
+
+    // Files from before a restart are still valid (the data version is part of their key), so they are adopted, oldest first
+    @PostConstruct
+    void adoptExistingFiles() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(dir);
+        List<Path> existing = new ArrayList<>();
+        try (DirectoryStream<Path> listing = Files.newDirectoryStream(dir)) {
+            for (Path file : listing) {
+                if (keyOf(file) != null) {
+                    existing.add(file);
+                } else {
+                    deleteQuietly(file);
+                }
+            }
+        }
+        existing.sort(Comparator.comparing(file -> file.toFile().lastModified()));
+        for (Path file : existing) {
+            files.put(keyOf(file), new CachedFile(file, file.toFile().length()));
+        }
+        if (!existing.isEmpty()) {
+            log.info("Export cache: adopted {} files from {}", existing.size(), dir);
+        }
+    }
+
+    // request identifies the rows and format; the profile's current version is added to it
+    public Optional<CachedFile> find(Long profileId, String... request) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String key = key(profileId, dataVersionService.currentVersion(profileId), request);
+        CachedFile cached = files.getIfPresent(key);
+        if (cached != null && !Files.isRegularFile(cached.file())) {
+            // Removed behind our back (e.g. a tmp cleaner)
+            files.invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cached);
+    }
+
+    // Wraps an export so it is also written into a new cache file. The file is stored under the version the export read
+    // itself, on the server that served its rows (the replica when reads are routed there): output from a lagging
+    // replica lands under an older version, which lookups for the current one never find. A file that grows past
+    // max-file-size, or that cannot be written, is dropped without affecting the download; a failed export leaves
+    // nothing behind
+    public StreamingResponseBody writeThrough(Long profileId, String[] request, VersionedExport export) {
+        if (!enabled) {
+            return export::writeTo;
+        }
+        return out -> {
+            String suffix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+            Path part = dir.resolve(suffix + PART_SUFFIX);
+            CachingOutputStream tee;
+            try {
+                Files.createDirectories(dir);
+                tee = new CachingOutputStream(out, new BufferedOutputStream(Files.newOutputStream(part), FILE_BUFFER_SIZE));
+            } catch (IOException e) {
+                log.warn("Export cache: could not create {}: {}", part, e.getMessage());
+                export.writeTo(out);
+                return;
+            }
+            long version = -1;
+            try {
+                version = export.writeTo(tee);
+                tee.flush();
+            } finally {
+                if (tee.closeFile() && version >= 0) {
+                    store(key(profileId, version, request), suffix, part, tee.written);
+                } else {
+                    deleteQuietly(part);
+                }
+            }
+        };
+    }
+
+    // A hit is opened by the container after the controller returns; deleting evicted files a little later keeps an
+    // eviction in between from failing that download
+    @Scheduled(fixedDelayString = "${quantum.save.export.cache.delete-delay:1m}")
+    public void deleteEvictedFiles() {
+        Instant cutoff = Instant.now().minus(deleteDelay);
+        for (Evicted next = evicted.peek(); next != null && next.at().isBefore(cutoff); next = evicted.peek()) {
+            evicted.poll();
+            deleteQuietly(next.file());
+        }
+    }
+
+    // Helper Methods
+    private static String key(Long profileId, long version, String... request) {
+        String[] parts = new String[request.length + 2];
+        parts[0] = profileId.toString();
+        parts[1] = Long.toString(version);
+        System.arraycopy(request, 0, parts, 2, request.length);
+        return HashUtil.sha256Hex(parts);
+    }
+
+    private void store(String key, String suffix, Path part, long size) {
+        Path file = part.resolveSibling(key + "-" + suffix);
+        try {
+            Files.move(part, file, StandardCopyOption.ATOMIC_MOVE);
+            files.put(key, new CachedFile(file, size));
+        } catch (IOException e) {
+            log.warn("Export cache: could not store {}: {}", file, e.getMessage());
+            deleteQuietly(part);
+        }
+    }
+
+    // {key}-{random} for a complete file; anything else in the directory (parts, strays) is not ours to keep
+    private static String keyOf(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(PART_SUFFIX) || name.length() <= KEY_LENGTH || name.charAt(KEY_LENGTH) != '-') {
+            return null;
+        }
+        return name.substring(0, KEY_LENGTH);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Export cache: could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Everything goes to the response; a copy goes to the cache file until it fails or passes max-file-size
+    private final class CachingOutputStream extends FilterOutputStream {
+
+        private OutputStream file;
+        private long written;
+
+        CachingOutputStream(OutputStream out, OutputStream file) {
+            super(out);
+            this.file = file;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            copy(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            copy(b, off, len);
+        }
+
+        // The response stream is the caller's to close
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        private void copy(byte[] b, int off, int len) {
+            if (file == null) {
+                return;
+            }
+            written += len;
+            try {
+                if (written > maxFileBytes) {
+                    throw new IOException("larger than " + maxFileBytes + " bytes");
+                }
+                file.write(b, off, len);
+            } catch (IOException e) {
+                log.debug("Export cache: not caching this export: {}", e.getMessage());
+                closeFile();
+                file = null;
+            }
+        }
+
+        // true when the cache file received every byte and was closed cleanly
+        boolean closeFile() {
+            if (file == null) {
+                return false;
+            }
+            try {
+                file.close();
+                return true;
+            } catch (IOException e) {
+                return false;
+            } finally {
+                file = null;
+            }
+        }
+    }
+}
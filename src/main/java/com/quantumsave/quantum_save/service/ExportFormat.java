@@ -0,0 +1,37 @@
+package com.quantumsave.quantum_save.service;
+
+import java.util.Locale;
+
+// Output formats for the export endpoints, selected by ?format= (the file extension without the leading dot)
+public enum ExportFormat {
+
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    CSV("csv", "text/csv; charset=UTF-8"),
+    CSV_GZIP("csv.gz", "application/gzip");
+
+    private final String extension;
+    private final String mediaType;
+
+    ExportFormat(String extension, String mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static ExportFormat fromParam(String value) {
+        String extension = value == null || value.isBlank() ? XLSX.extension : value.trim().toLowerCase(Locale.ROOT);
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Invalid format. Must be 'xlsx', 'csv' or 'csv.gz'");
+    }
+}
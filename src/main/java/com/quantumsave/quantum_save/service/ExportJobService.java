@@ -0,0 +1,241 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.ExportJobDTO;
+import com.quantumsave.quantum_save.dto.FilterDTO;
+import com.quantumsave.quantum_save.entity.ExportJobEntity;
+import com.quantumsave.quantum_save.entity.ExportJobEntity.Delivery;
+import com.quantumsave.quantum_save.entity.ExportJobEntity.Status;
+import com.quantumsave.quantum_save.event.ExportJobQueuedEvent;
+import com.quantumsave.quantum_save.repository.ExportJobRepository;
+import com.quantumsave.quantum_save.util.HashUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Export jobs: submit (coalescing equal in-flight requests, capped per profile), status reads, and the state changes
+ * ExportJobWorker makes while running them. A finished download is spooled as {job id}-{attempt}.{extension}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportJobService {
+
+    private static final List<Status> IN_FLIGHT = List.of(Status.QUEUED, Status.RUNNING, Status.SENDING);
+    private static final int MAX_KEYWORD_LENGTH = 255;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ExportJobRepository exportJobRepository;
+    private final ExcelExportService excelExportService;
+    private final ProfileService profileService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${quantum.save.export.jobs.spool-dir:${java.io.tmpdir}/quantum-save-exports}")
+    private Path spoolDir;
+
+    // Queued + running jobs one profile may have
+    @Value("${quantum.save.export.jobs.max-pending-per-profile:5}")
+    private int maxPendingPerProfile;
+
+    @Value("${quantum.save.export.jobs.result-ttl:1h}")
+    private Duration resultTtl;
+
+    public record JobResult(ExportJobDTO job, Path file) {
+    }
+
+    // No dates = the current month, like the direct downloads; otherwise the /excel/export rules apply.
+    // An equal request that is still queued or running is returned instead of starting a second one
+    @Transactional
+    public ExportJobDTO submit(FilterDTO filter, ExportFormat format, Delivery delivery) {
+        if (filter.getStartDate() == null && filter.getEndDate() == null) {
+            LocalDate today = LocalDate.now();
+            filter.setStartDate(today.withDayOfMonth(1));
+            filter.setEndDate(today);
+        }
+        excelExportService.checkRangeExport(filter);
+        String keyword = filter.getKeyword() == null || filter.getKeyword().isEmpty() ? null : filter.getKeyword();
+        if (keyword != null && keyword.length() > MAX_KEYWORD_LENGTH) {
+            throw new IllegalArgumentException("Keyword must be at most " + MAX_KEYWORD_LENGTH + " characters");
+        }
+
+        Long profileId = profileService.getCurrentProfileId();
+        String type = filter.getType().toLowerCase(Locale.ROOT);
+        String sortField = filter.getSortField() == null || filter.getSortField().isBlank()
+                ? null : filter.getSortField().trim().toLowerCase(Locale.ROOT);
+        String sortOrder = "desc".equalsIgnoreCase(filter.getSortOrder()) ? "desc" : "asc";
+        String requestKey = HashUtil.sha256Hex(delivery.name(), type, format.name(), filter.getStartDate().toString(),
+                filter.getEndDate().toString(), keyword != null ? keyword : "",
+                sortField != null ? sortField : "", sortOrder);
+
+        Optional<ExportJobEntity> inFlight = findInFlight(profileId, requestKey);
+        if (inFlight.isPresent()) {
+            return toDTO(inFlight.get());
+        }
+        if (exportJobRepository.countByProfileIdAndStatusIn(profileId, IN_FLIGHT) >= maxPendingPerProfile) {
+            throw new IllegalStateException("Too many exports in progress; try again once one has finished");
+        }
+
+        UUID id = UUID.randomUUID();
+        int inserted = exportJobRepository.insertIfNotInFlight(id, profileId, requestKey, delivery.name(), type,
+                format.name(), filter.getStartDate(), filter.getEndDate(), keyword, sortField, sortOrder);
+        if (inserted == 1) {
+            eventPublisher.publishEvent(new ExportJobQueuedEvent(id));
+            return toDTO(exportJobRepository.findById(id).orElseThrow());
+        }
+        // An equal request was queued concurrently; the insert waited for it to commit
+        return findInFlight(profileId, requestKey).map(this::toDTO)
+                .orElseThrow(() -> new IllegalStateException("Export request conflicted with another one; try again"));
+    }
+
+    // Reads from the primary: the worker updates the row moments before clients poll it
+    @Transactional
+    public Optional<ExportJobDTO> findJobForCurrentUser(UUID id) {
+        return exportJobRepository.findByIdAndProfileId(id, profileService.getCurrentProfileId()).map(this::toDTO);
+    }
+
+    // file is only set for a download that finished; it may still have been cleaned up since
+    @Transactional
+    public Optional<JobResult> findResultForCurrentUser(UUID id) {
+        return exportJobRepository.findByIdAndProfileId(id, profileService.getCurrentProfileId())
+                .map(job -> new JobResult(toDTO(job),
+                        job.getStatus() == Status.SUCCEEDED && job.getDelivery() == Delivery.DOWNLOAD
+                                ? resultFile(job) : null));
+    }
+
+    // Worker side. REQUIRES_NEW: also called from an after-commit listener, where the submitting transaction is done
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<ExportJobEntity> claimNext(int perProfileLimit) {
+        Optional<UUID> id = exportJobRepository.lockNextQueued(perProfileLimit);
+        if (id.isEmpty() || exportJobRepository.markRunning(id.get()) == 0) {
+            return Optional.empty();
+        }
+        return exportJobRepository.findById(id.get());
+    }
+
+    @Transactional
+    public void heartbeat(Collection<UUID> ids) {
+        exportJobRepository.heartbeat(ids);
+    }
+
+    // false when the job was re-queued (and claimed again) while this attempt was still running
+    @Transactional
+    public boolean markSending(ExportJobEntity job, long fileSize) {
+        return exportJobRepository.markSending(job.getId(), job.getAttempts(), fileSize) == 1;
+    }
+
+    // false when the job was re-queued (and claimed again) while this attempt was still running
+    @Transactional
+    public boolean markSucceeded(ExportJobEntity job, long fileSize) {
+        return exportJobRepository.markSucceeded(job.getId(), job.getAttempts(), fileSize, resultTtl.toSeconds()) == 1;
+    }
+
+    @Transactional
+    public void markFailed(ExportJobEntity job, String error) {
+        String message = error == null || error.isBlank() ? "Export failed" : error;
+        exportJobRepository.markFailed(job.getId(), job.getAttempts(),
+                message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+    }
+
+    // Jobs whose worker stopped heart-beating are queued again, or failed once they have used up their attempts.
+    // A report the worker was emailing is failed instead, since it may already have gone out
+    @Transactional
+    public int recoverStale(Duration staleAfter, int maxAttempts) {
+        int failed = exportJobRepository.failStale(staleAfter.toSeconds(), maxAttempts,
+                "Export was interrupted " + maxAttempts + " times")
+                + exportJobRepository.failStaleSending(staleAfter.toSeconds(),
+                "Export email may not have been sent; request it again if it did not arrive");
+        return exportJobRepository.requeueStale(staleAfter.toSeconds(), maxAttempts) + failed;
+    }
+
+    // Marks downloads past their TTL as expired and returns them, so the caller can delete the files
+    @Transactional
+    public List<UUID> expireResults() {
+        List<UUID> ids = exportJobRepository.findExpiredIds();
+        if (!ids.isEmpty()) {
+            exportJobRepository.markExpired(ids);
+        }
+        return ids;
+    }
+
+    @Transactional
+    public int purgeFinished(Duration retention) {
+        return exportJobRepository.deleteFinishedBefore(retention.toSeconds());
+    }
+
+    // Whether a spool file still belongs to a job: the result of a finished download or of a report being emailed, or
+    // the attempt being written
+    @Transactional(readOnly = true)
+    public boolean isLiveSpoolFile(UUID id, Path file) {
+        return exportJobRepository.findById(id)
+                .filter(job -> (job.getStatus() == Status.SUCCEEDED || job.getStatus() == Status.SENDING)
+                        && file.equals(resultFile(job))
+                        || job.getStatus() == Status.RUNNING && file.equals(partFile(job)))
+                .isPresent();
+    }
+
+    public Path getSpoolDir() {
+        return spoolDir;
+    }
+
+    public Path resultFile(ExportJobEntity job) {
+        return spoolDir.resolve(job.getId() + "-" + job.getAttempts() + "."
+                + ExportFormat.valueOf(job.getFormat()).getExtension());
+    }
+
+    // Written first and moved into place once complete, so a result file is never partial
+    public Path partFile(ExportJobEntity job) {
+        return spoolDir.resolve(resultFile(job).getFileName() + ".part");
+    }
+
+    public FilterDTO toFilter(ExportJobEntity job) {
+        FilterDTO filter = new FilterDTO();
+        filter.setType(job.getType());
+        filter.setStartDate(job.getStartDate());
+        filter.setEndDate(job.getEndDate());
+        filter.setKeyword(job.getKeyword());
+        filter.setSortField(job.getSortField());
+        filter.setSortOrder(job.getSortOrder());
+        return filter;
+    }
+
+    public static String fileName(String type, LocalDate startDate, LocalDate endDate, ExportFormat format) {
+        return type + "_details_" + startDate + "_" + endDate + "." + format.getExtension();
+    }
+
+    // Helper Methods
+    private Optional<ExportJobEntity> findInFlight(Long profileId, String requestKey) {
+        return exportJobRepository.findFirstByProfileIdAndRequestKeyAndStatusIn(profileId, requestKey, IN_FLIGHT);
+    }
+
+    private ExportJobDTO toDTO(ExportJobEntity job) {
+        ExportFormat format = ExportFormat.valueOf(job.getFormat());
+        return ExportJobDTO.builder()
+                .id(job.getId())
+                .status(job.getStatus().name())
+                .delivery(job.getDelivery().name())
+                .type(job.getType())
+                .format(format.getExtension())
+                .startDate(job.getStartDate())
+                .endDate(job.getEndDate())
+                .keyword(job.getKeyword())
+                .fileName(fileName(job.getType(), job.getStartDate(), job.getEndDate(), format))
+                .fileSize(job.getFileSize())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .expiresAt(job.getExpiresAt())
+                .build();
+    }
+}
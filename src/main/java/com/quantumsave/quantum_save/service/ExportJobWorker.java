@@ -0,0 +1,257 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.FilterDTO;
+import com.quantumsave.quantum_save.entity.ExportJobEntity;
+import com.quantumsave.quantum_save.entity.ExportJobEntity.Delivery;
+import com.quantumsave.quantum_save.event.ExportJobQueuedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs export jobs on this node. Queued jobs are claimed from tbl_export_jobs (right after a local submit commits, and
+ * on a poll for everything else), at most concurrency at a time and per-profile-concurrency per profile, and written
+ * into the spool directory on exportJobExecutor. Running jobs heart-beat; jobs of a node that stopped doing so are
+ * re-queued, so work survives restarts. Results and spool files past their TTL are cleaned up on a fixed delay.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExportJobWorker {
+
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportJobService exportJobService;
+    private final ExcelExportService excelExportService;
+    private final EmailIncomeExcelService emailIncomeExcelService;
+    private final EmailExpenseExcelService emailExpenseExcelService;
+    private final ThreadPoolTaskExecutor exportJobExecutor;
+
+    // Jobs this node is running, for heart-beating and the concurrency check
+    private final Map<UUID, ExportJobEntity> running = new ConcurrentHashMap<>();
+
+    @Value("${quantum.save.export.jobs.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quantum.save.export.jobs.concurrency:2}")
+    private int concurrency;
+
+    @Value("${quantum.save.export.jobs.per-profile-concurrency:1}")
+    private int perProfileConcurrency;
+
+    // Must be well above heartbeat-interval, or slow-but-alive jobs get re-queued
+    @Value("${quantum.save.export.jobs.stale-after:2m}")
+    private Duration staleAfter;
+
+    @Value("${quantum.save.export.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${quantum.save.export.jobs.retention:7d}")
+    private Duration retention;
+
+    // Emailed reports are read into memory and sent as one attachment; larger ones fail and should be downloaded
+    @Value("${quantum.save.export.jobs.max-attachment-size:10MB}")
+    private DataSize maxAttachmentSize;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobQueued(ExportJobQueuedEvent event) {
+        dispatch();
+    }
+
+    // Also picks up jobs queued on other nodes and jobs re-queued after a restart
+    @Scheduled(fixedDelayString = "${quantum.save.export.jobs.poll-interval:5s}")
+    public void poll() {
+        dispatch();
+    }
+
+    // Claims queued jobs while this node has free threads
+    public synchronized void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        while (running.size() < concurrency) {
+            Optional<ExportJobEntity> claimed = exportJobService.claimNext(perProfileConcurrency);
+            if (claimed.isEmpty()) {
+                return;
+            }
+            ExportJobEntity job = claimed.get();
+            running.put(job.getId(), job);
+            try {
+                exportJobExecutor.execute(() -> {
+                    try {
+                        run(job);
+                    } finally {
+                        running.remove(job.getId());
+                        dispatch();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                // Shutting down: the job stops heart-beating and is re-queued by recovery
+                running.remove(job.getId());
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quantum.save.export.jobs.heartbeat-interval:30s}")
+    public void heartbeat() {
+        if (!running.isEmpty()) {
+            exportJobService.heartbeat(List.copyOf(running.keySet()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quantum.save.export.jobs.recovery-interval:1m}")
+    public void recoverStaleJobs() {
+        int recovered = exportJobService.recoverStale(staleAfter, maxAttempts);
+        if (recovered > 0) {
+            log.warn("Recovered {} export jobs whose worker stopped responding", recovered);
+            dispatch();
+        }
+    }
+
+    // Expired results first (so they stop being served), then spool files no job owns, then old job rows
+    @Scheduled(fixedDelayString = "${quantum.save.export.jobs.cleanup-interval:10m}")
+    public void cleanUp() {
+        int expired = 0;
+        for (UUID id : exportJobService.expireResults()) {
+            expired += deleteSpoolFiles(id);
+        }
+        int orphaned = deleteOrphanedSpoolFiles();
+        int purged = exportJobService.purgeFinished(retention);
+        if (expired + orphaned + purged > 0) {
+            log.info("Export cleanup: {} expired files, {} orphaned files, {} old jobs removed", expired, orphaned, purged);
+        }
+    }
+
+    // Helper Methods
+    private void run(ExportJobEntity job) {
+        Path part = exportJobService.partFile(job);
+        Path result = exportJobService.resultFile(job);
+        try {
+            ExportFormat format = ExportFormat.valueOf(job.getFormat());
+            FilterDTO filter = exportJobService.toFilter(job);
+            Files.createDirectories(part.getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), FILE_BUFFER_SIZE)) {
+                excelExportService.writeRange(job.getProfileId(), filter, format, out);
+            }
+            Files.move(part, result, StandardCopyOption.ATOMIC_MOVE);
+            long size = Files.size(result);
+
+            if (job.getDelivery() == Delivery.EMAIL && !sendByEmail(job, format, result, size)) {
+                return;
+            }
+            if (!exportJobService.markSucceeded(job, size)) {
+                // Re-queued while we were still running; the newer attempt owns the outcome
+                Files.deleteIfExists(result);
+                log.warn("Export job {} attempt {} finished after being superseded", job.getId(), job.getAttempts());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Export job {} failed: {}", job.getId(), e.getMessage());
+            deleteQuietly(part);
+            deleteQuietly(result);
+            exportJobService.markFailed(job, e.getMessage());
+        }
+    }
+
+    // At most once per job: the attempt moves the job to SENDING first, which fails when it was superseded and keeps
+    // recovery from re-queueing it while the mail is out. false when superseded (nothing sent, result deleted)
+    private boolean sendByEmail(ExportJobEntity job, ExportFormat format, Path result, long size) throws IOException {
+        if (size > maxAttachmentSize.toBytes()) {
+            throw new RuntimeException("Export is too large to email (" + size + " bytes, limit "
+                    + maxAttachmentSize.toBytes() + "); request it as a download instead");
+        }
+        if (!exportJobService.markSending(job, size)) {
+            Files.deleteIfExists(result);
+            log.warn("Export job {} attempt {} was superseded before its email was sent", job.getId(), job.getAttempts());
+            return false;
+        }
+        byte[] report = Files.readAllBytes(result);
+        Files.deleteIfExists(result);
+        String filename = ExportJobService.fileName(job.getType(), job.getStartDate(), job.getEndDate(), format);
+        if ("income".equals(job.getType())) {
+            emailIncomeExcelService.sendIncomeReport(job.getProfileId(), job.getStartDate(), job.getEndDate(), filename, report);
+        } else {
+            emailExpenseExcelService.sendExpenseReport(job.getProfileId(), job.getStartDate(), job.getEndDate(), filename, report);
+        }
+        return true;
+    }
+
+    // Every spool file of the job, whatever the attempt
+    private int deleteSpoolFiles(UUID id) {
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(exportJobService.getSpoolDir(), id + "-*")) {
+            for (Path file : files) {
+                if (deleteQuietly(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not list the export spool directory: {}", e.getMessage());
+        }
+        return deleted;
+    }
+
+    // Partial files of attempts that died with their node, results whose job row is gone, and anything unrecognised.
+    // Only files older than stale-after are considered, so a job that was just claimed or finished is never raced
+    private int deleteOrphanedSpoolFiles() {
+        Path spoolDir = exportJobService.getSpoolDir();
+        if (!Files.isDirectory(spoolDir)) {
+            return 0;
+        }
+        Instant cutoff = Instant.now().minus(staleAfter);
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isAfter(cutoff)) {
+                    continue;
+                }
+                UUID id = jobIdOf(file);
+                if ((id == null || !exportJobService.isLiveSpoolFile(id, file)) && deleteQuietly(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not sweep the export spool directory: {}", e.getMessage());
+        }
+        return deleted;
+    }
+
+    private static UUID jobIdOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return name.length() > 36 ? UUID.fromString(name.substring(0, 36)) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.ExpenseDTO;
+import com.quantumsave.quantum_save.dto.IncomeDTO;
+import com.quantumsave.quantum_save.util.CsvWriter;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes export rows in one ExportFormat. Pure formatting: where the rows come from, and the transaction holding
+ * their cursor, is ExcelExportService's concern. The rows stream is always closed, the target stream never is.
+ */
+@Component
+public class ExportWriter {
+
+    private static final String[] HEADERS = {"ID", "Name", "Category", "Amount", "Date"};
+    // Fixed widths: SXSSF cannot auto-size columns from rows it has already flushed
+    private static final int[] COLUMN_WIDTHS = {3500, 9000, 7000, 5000, 5000};
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    static final Columns<IncomeDTO> INCOME_COLUMNS = new Columns<>("Income", IncomeDTO::getId,
+            IncomeDTO::getName, IncomeDTO::getCategoryName, IncomeDTO::getAmount, IncomeDTO::getDate);
+    static final Columns<ExpenseDTO> EXPENSE_COLUMNS = new Columns<>("Expense", ExpenseDTO::getId,
+            ExpenseDTO::getName, ExpenseDTO::getCategoryName, ExpenseDTO::getAmount, ExpenseDTO::getDate);
+
+    // Rows SXSSF keeps on the heap per sheet
+    private final int rowWindow;
+
+    public ExportWriter(@Value("${quantum.save.export.row-window:100}") int rowWindow) {
+        this.rowWindow = rowWindow;
+    }
+
+    record Columns<T>(String label, Function<T, Long> id, Function<T, String> name,
+                      Function<T, String> category, Function<T, BigDecimal> amount,
+                      Function<T, LocalDate> date) {
+    }
+
+    <T> void write(ExportFormat format, Stream<T> rows, OutputStream out, Columns<T> columns) {
+        switch (format) {
+            case XLSX -> writeWorkbook(rows, out, columns);
+            case CSV -> writeCsv(rows, out, columns);
+            case CSV_GZIP -> writeGzipCsv(rows, out, columns);
+        }
+    }
+
+    // Helper Methods
+
+    private <T> void writeCsv(Stream<T> rows, OutputStream out, Columns<T> columns) {
+        try (rows) {
+            CsvWriter csv = new CsvWriter(out);
+            for (String header : HEADERS) {
+                csv.text(header);
+            }
+            csv.endRow();
+
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T item = iterator.next();
+                csv.number(columns.id().apply(item))
+                        .text(columns.name().apply(item))
+                        .text(columns.category().apply(item))
+                        .decimal(columns.amount().apply(item))
+                        .date(columns.date().apply(item))
+                        .endRow();
+            }
+            csv.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate " + columns.label().toLowerCase(Locale.ROOT) + " CSV file", e);
+        }
+    }
+
+    // Closing the gzip stream writes its trailer and frees the native deflater; the response stream stays open
+    private <T> void writeGzipCsv(Stream<T> rows, OutputStream out, Columns<T> columns) {
+        try (GZIPOutputStream gzip = new GZIPOutputStream(StreamUtils.nonClosing(out), GZIP_BUFFER_SIZE)) {
+            writeCsv(rows, gzip, columns);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate " + columns.label().toLowerCase(Locale.ROOT) + " CSV file", e);
+        }
+    }
+
+    private <T> void writeWorkbook(Stream<T> rows, OutputStream out, Columns<T> columns) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try (rows; workbook) {
+            Sheet sheet = workbook.createSheet(columns.label());
+
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            CellStyle amountStyle = createAmountStyle(workbook);
+
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                Cell cell = headerRow.createCell(i);
+                cell.setCellValue(HEADERS[i]);
+                cell.setCellStyle(headerStyle);
+                sheet.setColumnWidth(i, COLUMN_WIDTHS[i]);
+            }
+
+            int rowIdx = 1;
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T item = iterator.next();
+                Row row = sheet.createRow(rowIdx++);
+
+                Long itemId = columns.id().apply(item);
+                row.createCell(0).setCellValue(itemId != null ? itemId : 0L);
+                row.createCell(1).setCellValue(nullSafe(columns.name().apply(item)));
+                row.createCell(2).setCellValue(nullSafe(columns.category().apply(item)));
+
+                BigDecimal itemAmount = columns.amount().apply(item);
+                Cell amountCell = row.createCell(3);
+                amountCell.setCellValue(itemAmount != null ? itemAmount.doubleValue() : 0.0);
+                amountCell.setCellStyle(amountStyle);
+
+                LocalDate itemDate = columns.date().apply(item);
+                row.createCell(4).setCellValue(itemDate != null ? itemDate.toString() : "");
+            }
+
+            workbook.write(out);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate " + columns.label().toLowerCase(Locale.ROOT) + " Excel file", e);
+        } finally {
+            // Deletes the temp file holding the flushed rows
+            workbook.dispose();
+        }
+    }
+
+    private static String nullSafe(String s) {
+        return s == null ? "" : s;
+    }
+
+    private static CellStyle createHeaderStyle(Workbook wb) {
+        Font font = wb.createFont();
+        font.setBold(true);
+
+        CellStyle style = wb.createCellStyle();
+        style.setFont(font);
+        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        style.setBorderBottom(BorderStyle.THIN);
+        style.setBorderTop(BorderStyle.THIN);
+        style.setBorderLeft(BorderStyle.THIN);
+        style.setBorderRight(BorderStyle.THIN);
+        return style;
+    }
+
+    private static CellStyle createAmountStyle(Workbook wb) {
+        CellStyle style = wb.createCellStyle();
+        DataFormat format = wb.createDataFormat();
+        style.setDataFormat(format.getFormat("#,##0.00"));
+        return style;
+    }
+}
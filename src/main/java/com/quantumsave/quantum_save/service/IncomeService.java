@@ -2,18 +2,28 @@ package com.quantumsave.quantum_save.service;
 
 
 import com.quantumsave.quantum_save.dto.IncomeDTO;
+import com.quantumsave.quantum_save.dto.RecentTransactionDTO;
 import com.quantumsave.quantum_save.entity.CategoryEntity;
 import com.quantumsave.quantum_save.entity.IncomeEntity;
 import com.quantumsave.quantum_save.entity.ProfileEntity;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent.Action;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent.Source;
 import com.quantumsave.quantum_save.repository.CategoryRepository;
 import com.quantumsave.quantum_save.repository.IncomeRepository;
+import com.quantumsave.quantum_save.repository.projection.ArchivedTransactionView;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -22,60 +32,123 @@ public class IncomeService {
     private final CategoryRepository categoryRepository;
     private final IncomeRepository incomeRepository;
     private final ProfileService profileService;
+    private final BalanceService balanceService;
+    private final RollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionBatchSupport transactionBatchSupport;
+    private final TransactionArchiveService transactionArchiveService;
 
+    @Transactional
     public IncomeDTO addIncome(IncomeDTO incomeDTO) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        ProfileEntity profile = profileService.getCurrentProfileReference();
         CategoryEntity category = categoryRepository.findById(incomeDTO.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         IncomeEntity newIncome =  toEntity(incomeDTO, profile, category);
         newIncome = incomeRepository.save(newIncome);
+        balanceService.applyIncomeDelta(profile.getId(), newIncome.getAmount());
+        rollupService.apply(profile.getId(), category.getId(), newIncome.getDate(), RollupService.TYPE_INCOME, newIncome.getAmount(), 1);
+        eventPublisher.publishEvent(new ProfileDataChangedEvent(profile.getId(), Source.INCOME, Action.CREATED, newIncome.getId(),
+                toRecentTransactionDTO(newIncome, profile.getId())));
         return toDTO(newIncome);
 
     }
 
+    // Bulk import: the whole array is validated up front, categories are resolved in one query, and the rows go out as
+    // JDBC batches on pooled sequence ids. The ledger gets one delta, rollups one per (category, day), listeners one event.
+    @Transactional
+    public List<IncomeDTO> addIncomes(List<IncomeDTO> incomeDTOs) {
+        ProfileEntity profile = profileService.getCurrentProfileReference();
+        Map<Long, CategoryEntity> categories = transactionBatchSupport.resolveCategories(profile.getId(), "income", incomeDTOs,
+                IncomeDTO::getCategoryId, IncomeDTO::getAmount);
+
+        List<IncomeEntity> entities = new ArrayList<>(incomeDTOs.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (IncomeDTO dto : incomeDTOs) {
+            entities.add(toEntity(dto, profile, categories.get(dto.getCategoryId())));
+            total = total.add(dto.getAmount());
+        }
+        List<IncomeEntity> saved = incomeRepository.saveAll(entities);
+
+        balanceService.applyIncomeDelta(profile.getId(), total);
+        transactionBatchSupport.applyRollups(profile.getId(), RollupService.TYPE_INCOME, saved,
+                e -> e.getCategory().getId(), IncomeEntity::getDate, IncomeEntity::getAmount);
+        eventPublisher.publishEvent(new ProfileDataChangedEvent(profile.getId(), Source.INCOME, Action.CREATED, null));
+        return saved.stream().map(IncomeService::toDTO).toList();
+    }
+
     // Retrieves all incomes for current month
+    @Transactional(readOnly = true)
     public List<IncomeDTO> getCurrentMonthIncomesForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        Long profileId = profileService.getCurrentProfileId();
         LocalDate now = LocalDate.now();
         LocalDate startDate = now.withDayOfMonth(1);
         LocalDate endDate = now.withDayOfMonth(now.lengthOfMonth());
-        List<IncomeEntity> list = incomeRepository.findByProfileIdAndDateBetween(profile.getId(), startDate, endDate);
-        return list.stream().map(this::toDTO).toList();
+        return incomeRepository.findDTOsByProfileIdAndDateBetween(profileId, startDate, endDate);
+    }
+
+    // Same rows as a forward-only cursor for exports. The caller's transaction keeps the cursor open, so the stream
+    // must be consumed and closed inside it (MANDATORY fails fast when there is none)
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<IncomeDTO> streamCurrentMonthIncomesForCurrentUser() {
+        return streamCurrentMonthIncomes(profileService.getCurrentProfileId());
     }
 
-    // Delete Income By ID for Current User
+    // Profile passed in by callers that run off the request thread (streamed downloads)
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<IncomeDTO> streamCurrentMonthIncomes(Long profileId) {
+        LocalDate now = LocalDate.now();
+        return incomeRepository.streamDTOsByProfileIdAndDateBetween(profileId, now.withDayOfMonth(1), now.withDayOfMonth(now.lengthOfMonth()));
+    }
+
+    // Delete Income By ID for Current User (hot or archived)
+    @Transactional
     public void deleteIncome(Long incomeId) {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        IncomeEntity entity =   incomeRepository.findById(incomeId)
-                .orElseThrow(()-> new RuntimeException("Income not found"));
-        if(!entity.getProfile().getId().equals(profile.getId())) {
+        Long profileId = profileService.getCurrentProfileId();
+        // Taken before the lookup, as archiveChunk does, so the row cannot be moved to the archive between the two
+        balanceService.lockProfile(profileId);
+        IncomeEntity entity = incomeRepository.findById(incomeId).orElse(null);
+        if (entity == null) {
+            deleteArchivedIncome(profileId, incomeId);
+            return;
+        }
+        if(!entity.getProfile().getId().equals(profileId)) {
             throw new RuntimeException("Unauthorized to deleted this income");
         }
         incomeRepository.delete(entity);
+        balanceService.applyIncomeDelta(profileId, entity.getAmount() != null ? entity.getAmount().negate() : null);
+        rollupService.apply(profileId, entity.getCategory().getId(), entity.getDate(), RollupService.TYPE_INCOME,
+                entity.getAmount() != null ? entity.getAmount().negate() : null, -1);
+        eventPublisher.publishEvent(new ProfileDataChangedEvent(profileId, Source.INCOME, Action.DELETED, incomeId));
     }
 
     // Get Latest 5 Incomes for Current User (For Dashboard)
+    @Transactional(readOnly = true)
     public List<IncomeDTO> getLatest5IncomesForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        List<IncomeEntity> list = incomeRepository.findTop5ByProfileIdOrderByDateDesc(profile.getId());
-        return list.stream().map(this::toDTO).toList();
+        Long profileId = profileService.getCurrentProfileId();
+        List<IncomeEntity> list = incomeRepository.findTop5ByProfileIdOrderByDateDesc(profileId);
+        return list.stream().map(IncomeService::toDTO).toList();
     }
 
     // Get Total Incomes Of Current User
+    // Read from the balance ledger, which also covers archived rows
+    @Transactional
     public BigDecimal getTotalIncomeForCurrentUser() {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        BigDecimal totalIncome = incomeRepository.findTotalIncomeByProfileId(profile.getId());
-        return totalIncome != null ? totalIncome : BigDecimal.ZERO;
+        Long profileId = profileService.getCurrentProfileId();
+        return balanceService.getBalance(profileId).getTotalIncome();
     }
 
-    // Filter Incomes
-    public List<IncomeDTO> filterIncomes(LocalDate startDate, LocalDate endDate, String keyword, Sort sort) {
-        ProfileEntity profile = profileService.getCurrentProfile();
-        List<IncomeEntity> list = incomeRepository.findByProfileIdAndDateBetweenAndNameContainingIgnoreCase(profile.getId(), startDate, endDate, keyword, sort);
-        return list.stream().map(this::toDTO).toList();
+    // Helper Methods
+
+    // The feed, /filter and exports still list archived rows, so they can be deleted like hot ones
+    private void deleteArchivedIncome(Long profileId, Long incomeId) {
+        ArchivedTransactionView row = transactionArchiveService.deleteArchived(profileId, RollupService.TYPE_INCOME, incomeId)
+                .orElseThrow(() -> new RuntimeException("Income not found"));
+        BigDecimal delta = row.getAmount() != null ? row.getAmount().negate() : null;
+        balanceService.applyIncomeDelta(profileId, delta);
+        rollupService.apply(profileId, row.getCategoryId(), row.getDate(), RollupService.TYPE_INCOME, delta, -1);
+        eventPublisher.publishEvent(new ProfileDataChangedEvent(profileId, Source.INCOME, Action.DELETED, incomeId));
     }
 
-    // Helper Methods
     private IncomeEntity toEntity(IncomeDTO incomeDTO, ProfileEntity profile, CategoryEntity category) {
         return IncomeEntity.builder()
                 .name(incomeDTO.getName())
@@ -88,7 +161,8 @@ public class IncomeService {
     }
 
 
-    private IncomeDTO toDTO(IncomeEntity incomeEntity) {
+    // Static and package-private: touches no collaborator, so the mapping benchmark calls it without a service
+    static IncomeDTO toDTO(IncomeEntity incomeEntity) {
         return IncomeDTO.builder()
                 .id(incomeEntity.getId())
                 .name(incomeEntity.getName())
@@ -103,7 +177,22 @@ public class IncomeService {
     }
 
 
-    private String resolveIcon(String incomingIcon, CategoryEntity category) {
+    private RecentTransactionDTO toRecentTransactionDTO(IncomeEntity incomeEntity, Long profileId) {
+        return RecentTransactionDTO.builder()
+                .id(incomeEntity.getId())
+                .profileId(profileId)
+                .icon(resolveIcon(incomeEntity.getIcon(), incomeEntity.getCategory()))
+                .name(incomeEntity.getName())
+                .amount(incomeEntity.getAmount())
+                .date(incomeEntity.getDate())
+                .createdAt(incomeEntity.getCreatedAt())
+                .updatedAt(incomeEntity.getUpdatedAt())
+                .type("income")
+                .build();
+    }
+
+
+    private static String resolveIcon(String incomingIcon, CategoryEntity category) {
         if (incomingIcon != null && !incomingIcon.trim().isEmpty()) {
             return incomingIcon.trim();
         }
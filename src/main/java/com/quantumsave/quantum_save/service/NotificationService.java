@@ -2,16 +2,18 @@ package com.quantumsave.quantum_save.service;
 
 
 import com.quantumsave.quantum_save.dto.ExpenseDTO;
-import com.quantumsave.quantum_save.entity.ProfileEntity;
 import com.quantumsave.quantum_save.repository.ProfileRepository;
+import com.quantumsave.quantum_save.repository.projection.ProfileRecipientView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -25,12 +27,14 @@ public class NotificationService {
     @Value("${quantum.save.frontend.url}")
     private String frontEndURL;
 
+    @Value("${quantum.save.notification.page-size:500}")
+    private int pageSize;
+
     //@Scheduled(cron = "0 * * * * *", zone = "EST")
     @Scheduled(cron = "0 0 22 * * *", zone = "EST")
     public void sendDailyIncomeExpenseReminder() {
         log.info("Job Started :Sending Daily Income Expense Reminder");
-        List<ProfileEntity> profiles = profileRepository.findAll();
-        for(ProfileEntity profile : profiles) {
+        forEachProfile(profile -> {
             String body =
                     "<div style='font-family:Arial,Helvetica,sans-serif;font-size:15px;color:#0B1533;'>"
                             + "Hi <strong>" + profile.getFullName() + "</strong>,<br><br>"
@@ -48,7 +52,7 @@ public class NotificationService {
                             + "</div>";
 
             emailService.sendEmail(profile.getEmail(), "Quantum Save - Activate your streak: log today’s income & expenses \uD83D\uDCB8", body);
-        }
+        });
         log.info("Job Completed : Sending Daily Income Expense Reminder");
     }
 
@@ -56,8 +60,7 @@ public class NotificationService {
     @Scheduled(cron = "0 0 23 * * *", zone = "EST")
     public void sendDailyExpenseSummary() {
         log.info("Job Started :Sending Daily Expense Summary");
-        List<ProfileEntity> profiles = profileRepository.findAll();
-        for(ProfileEntity profile : profiles) {
+        forEachProfile(profile -> {
             List<ExpenseDTO> todayExpenses = expenseService.getExpensesForUserOnDate(profile.getId(), LocalDate.now());
             if(!todayExpenses.isEmpty()) {
                 StringBuilder table = new StringBuilder();
@@ -102,7 +105,23 @@ public class NotificationService {
                                 + "</div>";
                 emailService.sendEmail(profile.getEmail(), "Today’s Expense Summary – Quantum Save", body);
             }
-        }
+        });
         log.info("Job Completed :Sending Daily Expense Summary");
     }
+
+    // Helper Methods
+
+    // Profiles are read in keyset pages of page-size, each in its own short read, and the mail goes out between reads:
+    // no transaction or cursor stays open while a job talks to the mail API, and the heap holds one page at a time
+    private void forEachProfile(Consumer<ProfileRecipientView> action) {
+        long afterId = 0;
+        List<ProfileRecipientView> page;
+        do {
+            page = profileRepository.findRecipientsAfter(afterId, Limit.of(pageSize));
+            page.forEach(action);
+            if (!page.isEmpty()) {
+                afterId = page.getLast().getId();
+            }
+        } while (page.size() == pageSize);
+    }
 }
@@ -5,6 +5,7 @@ import com.quantumsave.quantum_save.dto.AuthDTO;
 import com.quantumsave.quantum_save.dto.ProfileDTO;
 import com.quantumsave.quantum_save.entity.ProfileEntity;
 import com.quantumsave.quantum_save.repository.ProfileRepository;
+import com.quantumsave.quantum_save.security.AuthenticatedProfile;
 import com.quantumsave.quantum_save.util.JWTUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -120,6 +121,29 @@ public class ProfileService {
                 .orElseThrow(() -> new UsernameNotFoundException("Profile not found with email: " + authentication.getName()));
     }
 
+    // Principal resolved once by JwtRequestFilter; falls back to a lookup for non-JWT authentications
+    public AuthenticatedProfile getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedProfile principal) {
+            return principal;
+        }
+        ProfileEntity profile = getCurrentProfile();
+        return AuthenticatedProfile.builder()
+                .id(profile.getId())
+                .email(profile.getEmail())
+                .fullName(profile.getFullName())
+                .build();
+    }
+
+    public Long getCurrentProfileId() {
+        return getCurrentPrincipal().getId();
+    }
+
+    // Uninitialized proxy for associations (e.g. profile_id on a new row) without loading tbl_profiles
+    public ProfileEntity getCurrentProfileReference() {
+        return profileRepository.getReferenceById(getCurrentProfileId());
+    }
+
     public ProfileDTO getPublicProfile(String email) {
 
         ProfileEntity currentUser = null;
@@ -150,7 +174,7 @@ public class ProfileService {
             ProfileEntity profile = profileRepository.findByEmail(authDTO.getEmail())
                     .orElseThrow(() -> new RuntimeException("Invalid email or password"));
 
-            String token = jwtUtil.generateToken(authDTO.getEmail());
+            String token = jwtUtil.generateToken(profile.getId(), profile.getEmail(), profile.getFullName());
 
             boolean isActive = Boolean.TRUE.equals(profile.getIsActive());
 
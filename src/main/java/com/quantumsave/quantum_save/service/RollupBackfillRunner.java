@@ -0,0 +1,44 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.repository.ProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Backfill for tbl_daily_rollups.
+ * quantum.save.rollup.startup-action=rebuild -> re-derives every profile's buckets from the fact tables
+ * Run it once after the rollup table is first deployed; afterwards the buckets are maintained incrementally.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RollupBackfillRunner implements ApplicationRunner {
+
+    private final RollupService rollupService;
+    private final ProfileRepository profileRepository;
+
+    @Value("${quantum.save.rollup.startup-action:none}")
+    private String startupAction;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if ("rebuild".equalsIgnoreCase(startupAction)) {
+            rebuildAll();
+        }
+    }
+
+    public int rebuildAll() {
+        log.info("Job Started : Backfilling daily rollups");
+        List<Long> profileIds = profileRepository.findAllIds();
+        // One transaction per profile so the per-profile lock is held briefly
+        profileIds.forEach(rollupService::rebuild);
+        log.info("Job Completed : Backfilling daily rollups ({} profiles)", profileIds.size());
+        return profileIds.size();
+    }
+}
@@ -0,0 +1,42 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.repository.DailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Maintains tbl_daily_rollups. Deltas join the caller's transaction, like the balance ledger.
+ */
+@Service
+@RequiredArgsConstructor
+public class RollupService {
+
+    public static final String TYPE_INCOME = "income";
+    public static final String TYPE_EXPENSE = "expense";
+
+    private final DailyRollupRepository dailyRollupRepository;
+    private final BalanceService balanceService;
+
+    // Add (count = 1) or remove (count = -1, negative amount) a transaction from its day bucket
+    @Transactional
+    public void apply(Long profileId, Long categoryId, LocalDate day, String type, BigDecimal amount, long count) {
+        BigDecimal delta = amount != null ? amount : BigDecimal.ZERO;
+        dailyRollupRepository.upsert(profileId, categoryId, day, type, delta, count);
+        if (count < 0) {
+            dailyRollupRepository.deleteIfEmpty(profileId, categoryId, day, type);
+        }
+    }
+
+    // Backfill: drop and re-derive every bucket of one profile
+    @Transactional
+    public void rebuild(Long profileId) {
+        // Concurrent add/delete for this profile wait on the ledger row until the rebuild commits
+        balanceService.lockProfile(profileId);
+        dailyRollupRepository.deleteByProfileId(profileId);
+        dailyRollupRepository.insertFromFactTables(profileId);
+    }
+}
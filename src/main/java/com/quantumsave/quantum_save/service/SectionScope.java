@@ -0,0 +1,115 @@
+package com.quantumsave.quantum_save.service;
+
+import org.springframework.core.task.TaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out for one dashboard load. Sections are plain FutureTasks on the given executor, so cancel(true) interrupts
+ * their thread: a virtual thread blocked on a pool wait or a socket read gives up at once (and its connection with it).
+ * Each section holds one of the shared permits (the fan-out concurrency limit) from fork until it has run. The timeout
+ * starts with the scope and covers waiting for a permit as well as the sections themselves, so a saturated fan-out
+ * fails the load on time instead of queueing it. join() fails fast: the first failure, or the timeout, interrupts
+ * every section still running before it throws. One scope per load; not thread-safe.
+ */
+final class SectionScope {
+
+    private final TaskExecutor executor;
+    private final Semaphore permits;
+    private final Duration timeout;
+    private final long deadline;
+    private final List<FutureTask<?>> sections = new ArrayList<>();
+    private final BlockingQueue<FutureTask<?>> finished = new LinkedBlockingQueue<>();
+
+    SectionScope(TaskExecutor executor, Semaphore permits, Duration timeout) {
+        this.executor = executor;
+        this.permits = permits;
+        this.timeout = timeout;
+        this.deadline = System.nanoTime() + timeout.toNanos();
+    }
+
+    // Waits for a permit until the deadline; on failure the sections already forked are cancelled
+    <T> FutureTask<T> fork(Callable<T> section) {
+        acquirePermit();
+        FutureTask<T> task = new FutureTask<>(section) {
+            // Released when the thread is done with the section, not on cancel, which returns while it may still run
+            @Override
+            public void run() {
+                try {
+                    super.run();
+                } finally {
+                    permits.release();
+                }
+            }
+
+            @Override
+            protected void done() {
+                finished.add(this);
+            }
+        };
+        sections.add(task);
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            permits.release();
+            cancelAll();
+            throw e;
+        }
+        return task;
+    }
+
+    // Returns once every section has completed; their results are then read with resultNow()
+    void join() {
+        try {
+            for (int i = 0; i < sections.size(); i++) {
+                FutureTask<?> section = finished.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (section == null) {
+                    throw new RuntimeException("Dashboard assembly timed out after " + timeout.toMillis() + " ms");
+                }
+                section.get();
+            }
+        } catch (ExecutionException e) {
+            cancelAll();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Dashboard assembly failed", e.getCause());
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Dashboard assembly interrupted", e);
+        } catch (RuntimeException e) {
+            cancelAll();
+            throw e;
+        }
+    }
+
+    // Helper Methods
+
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                cancelAll();
+                throw new RuntimeException("Dashboard assembly timed out after " + timeout.toMillis()
+                        + " ms waiting for a section slot");
+            }
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Dashboard assembly interrupted", e);
+        }
+    }
+
+    private void cancelAll() {
+        sections.forEach(section -> section.cancel(true));
+    }
+}
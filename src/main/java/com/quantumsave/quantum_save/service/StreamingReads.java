@@ -0,0 +1,54 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.repository.ProfileRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Consumes streams from the repositories at constant heap.
+ * Anything the action loads into the persistence context stays reachable until the context is cleared, so a long
+ * walk would otherwise keep every row it has seen. Work the action must commit on its own (writes on the primary)
+ * has to run in a REQUIRES_NEW transaction, since the walk's transaction is read-only.
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamingReads {
+
+    private final ProfileRepository profileRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${quantum.save.streaming.clear-interval:1000}")
+    private int clearInterval;
+
+    // Every profile id in id order, read through one cursor (on the replica when routing is enabled)
+    @Transactional(readOnly = true)
+    public long forEachProfileId(Consumer<Long> action) {
+        return forEach(profileRepository.streamAllIds(), action);
+    }
+
+    // Hands every row to the action, detaching everything loaded so far every clear-interval rows; closes the stream.
+    // Must run inside the transaction that opened the stream
+    public <T> long forEach(Stream<T> rows, Consumer<? super T> action) {
+        long count = 0;
+        try (rows) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++count % clearInterval == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,77 @@
+package com.quantumsave.quantum_save.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scheduled hot -> cold tiering of tbl_transactions.
+ * Each run first moves every row dated before the current watermark (once that value has been published for longer
+ * than the publish grace, so all nodes already union the archive below it), then publishes the next watermark:
+ * the first day of the month horizon-months back. A new cut-off is therefore applied one run after it is announced.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionArchiveJob {
+
+    // Current and previous month always stay hot (month lists, exports, daily summary)
+    private static final int MIN_HORIZON_MONTHS = 2;
+
+    private final TransactionArchiveService transactionArchiveService;
+    private final ArchiveWatermark archiveWatermark;
+    private final StreamingReads streamingReads;
+
+    @Value("${quantum.save.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quantum.save.archive.horizon-months:24}")
+    private int horizonMonths;
+
+    @Value("${quantum.save.archive.batch-size:1000}")
+    private int batchSize;
+
+    // Must exceed watermark-refresh (plus replica lag) so no node still reads with the previous value
+    @Value("${quantum.save.archive.publish-grace:10m}")
+    private Duration publishGrace;
+
+    @Scheduled(cron = "${quantum.save.archive.cron:0 30 3 * * *}", zone = "EST")
+    public void archiveOldTransactions() {
+        if (enabled) {
+            archiveAll();
+        }
+    }
+
+    public long archiveAll() {
+        if (horizonMonths < MIN_HORIZON_MONTHS) {
+            throw new IllegalArgumentException("quantum.save.archive.horizon-months must be at least " + MIN_HORIZON_MONTHS);
+        }
+        log.info("Job Started : Archiving transactions");
+        AtomicLong moved = new AtomicLong();
+        LocalDate archivedBefore = transactionArchiveService.findSettledWatermark(publishGrace);
+        if (archivedBefore != null) {
+            // Ids come from one read-only cursor; every chunk commits in its own transaction on the primary
+            streamingReads.forEachProfileId(profileId -> {
+                long chunk;
+                do {
+                    chunk = transactionArchiveService.archiveChunk(profileId, archivedBefore, batchSize);
+                    moved.addAndGet(chunk);
+                } while (chunk >= batchSize);
+            });
+        }
+
+        LocalDate next = LocalDate.now().withDayOfMonth(1).minusMonths(horizonMonths);
+        if (transactionArchiveService.publishWatermark(next)) {
+            archiveWatermark.refresh();
+            log.info("Archive watermark moved to {}; rows before it are archived on the next run", next);
+        }
+        log.info("Job Completed : Archiving transactions ({} rows moved)", moved.get());
+        return moved.get();
+    }
+}
@@ -0,0 +1,54 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.repository.TransactionArchiveRepository;
+import com.quantumsave.quantum_save.repository.projection.ArchivedTransactionView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Moves transactions from the hot table to tbl_transactions_archive, one bounded chunk per transaction.
+ * A move changes no totals (the ledger and the daily rollups cover both tiers), so no cache or ETag is invalidated.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionArchiveService {
+
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final BalanceService balanceService;
+
+    // Returns the number of rows moved (fewer than limit once the profile has nothing older than the cut-off left).
+    // Always its own transaction: the archive job calls it from inside a read-only profile walk
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long archiveChunk(Long profileId, LocalDate before, int limit) {
+        // Same per-profile lock as add/delete, so a delete never races a row that is being moved
+        balanceService.lockProfile(profileId);
+        return transactionArchiveRepository.moveBefore(profileId, before, limit);
+    }
+
+    // Delete of an archived income/expense (type as in RollupService), frozen monthly totals included. The caller's
+    // transaction adjusts the ledger and rollups as for a hot delete; empty when the id is not archived for the profile
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<ArchivedTransactionView> deleteArchived(Long profileId, String type, Long id) {
+        // Same per-profile lock as archiveChunk, so the row cannot be in the middle of a move. deleteIncome/deleteExpense
+        // already hold it from before their hot-row lookup; taking it again here costs nothing and keeps this safe alone
+        balanceService.lockProfile(profileId);
+        return transactionArchiveRepository.deleteArchived(profileId, type, id);
+    }
+
+    @Transactional
+    public boolean publishWatermark(LocalDate archivedBefore) {
+        return transactionArchiveRepository.publishWatermark(archivedBefore) > 0;
+    }
+
+    // Read-write on purpose: a lagging replica could report the previous value as settled
+    @Transactional
+    public LocalDate findSettledWatermark(Duration publishGrace) {
+        return transactionArchiveRepository.findSettledWatermark(publishGrace.toSeconds());
+    }
+}
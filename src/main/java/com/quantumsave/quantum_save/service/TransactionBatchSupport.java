@@ -0,0 +1,88 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.entity.CategoryEntity;
+import com.quantumsave.quantum_save.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Shared validation and aggregation for the /incomes/batch and /expenses/batch imports.
+ * Everything is checked before the first insert, so a bad item rejects the whole array with its position in the message.
+ */
+@Component
+@RequiredArgsConstructor
+class TransactionBatchSupport {
+
+    private record RollupKey(Long categoryId, LocalDate day) {}
+
+    private final CategoryRepository categoryRepository;
+    private final RollupService rollupService;
+
+    @Value("${quantum.save.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    // Validates every item and loads all referenced categories of the profile in one query
+    <T> Map<Long, CategoryEntity> resolveCategories(Long profileId, String type, List<T> items,
+                                                   Function<T, Long> categoryIdOf, Function<T, BigDecimal> amountOf) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one " + type + " is required");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " " + type + "s per batch");
+        }
+
+        Set<Long> categoryIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            if (item == null) {
+                throw new IllegalArgumentException("Item " + i + ": missing");
+            }
+            if (categoryIdOf.apply(item) == null) {
+                throw new IllegalArgumentException("Item " + i + ": categoryId is required");
+            }
+            if (amountOf.apply(item) == null) {
+                throw new IllegalArgumentException("Item " + i + ": amount is required");
+            }
+            categoryIds.add(categoryIdOf.apply(item));
+        }
+
+        Map<Long, CategoryEntity> categories = new LinkedHashMap<>();
+        for (CategoryEntity category : categoryRepository.findByProfileIdAndIdIn(profileId, categoryIds)) {
+            categories.put(category.getId(), category);
+        }
+        for (int i = 0; i < items.size(); i++) {
+            CategoryEntity category = categories.get(categoryIdOf.apply(items.get(i)));
+            if (category == null) {
+                throw new IllegalArgumentException("Item " + i + ": category not found");
+            }
+            if (!type.equalsIgnoreCase(category.getType())) {
+                throw new IllegalArgumentException("Item " + i + ": category '" + category.getName() + "' is not an " + type + " category");
+            }
+        }
+        return categories;
+    }
+
+    // One rollup upsert per (category, day) touched instead of one per row
+    <E> void applyRollups(Long profileId, String rollupType, List<E> saved, Function<E, Long> categoryIdOf,
+                          Function<E, LocalDate> dateOf, Function<E, BigDecimal> amountOf) {
+        Map<RollupKey, BigDecimal> sums = new LinkedHashMap<>();
+        Map<RollupKey, Long> counts = new HashMap<>();
+        for (E entity : saved) {
+            RollupKey key = new RollupKey(categoryIdOf.apply(entity), dateOf.apply(entity));
+            sums.merge(key, amountOf.apply(entity), BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+        }
+        sums.forEach((key, sum) -> rollupService.apply(profileId, key.categoryId(), key.day(), rollupType, sum, counts.get(key)));
+    }
+}
@@ -0,0 +1,103 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.CursorPageDTO;
+import com.quantumsave.quantum_save.dto.RecentTransactionDTO;
+import com.quantumsave.quantum_save.repository.TransactionFeedRepository;
+import com.quantumsave.quantum_save.repository.projection.TransactionView;
+import com.quantumsave.quantum_save.util.CursorCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionFeedService {
+
+    // First-page sentinel: sorts after every real row
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    private static final LocalDateTime MAX_CREATED_AT = MAX_DATE.atTime(23, 59, 59);
+
+    private final TransactionFeedRepository transactionFeedRepository;
+    private final ProfileService profileService;
+    private final ArchiveWatermark archiveWatermark;
+
+    @Value("${quantum.save.feed.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${quantum.save.feed.max-page-size:100}")
+    private int maxPageSize;
+
+    // Merged income/expense history for the current user, newest first
+    @Transactional(readOnly = true)
+    public CursorPageDTO<RecentTransactionDTO> getFeedForCurrentUser(String cursor, Integer limit) {
+        Long profileId = profileService.getCurrentProfileId();
+        int pageSize = limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+
+        LocalDate date = MAX_DATE;
+        LocalDateTime createdAt = MAX_CREATED_AT;
+        long id = Long.MAX_VALUE;
+
+        if (cursor != null && !cursor.isBlank()) {
+            List<String> key = CursorCodec.decode(cursor, 3);
+            try {
+                date = LocalDate.parse(key.get(0));
+                createdAt = LocalDateTime.parse(key.get(1));
+                id = Long.parseLong(key.get(2));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        // One extra row tells us whether another page exists
+        List<TransactionView> rows = transactionFeedRepository.findPageBefore(profileId, date, createdAt, id, pageSize + 1);
+        if (reachesArchive(rows, pageSize + 1)) {
+            rows = transactionFeedRepository.findPageBeforeAcrossTiers(profileId, date, createdAt, id, pageSize + 1);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionView> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionView last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(List.of(
+                    last.getDate().toString(),
+                    last.getCreatedAt().toString(),
+                    last.getId().toString()));
+        }
+
+        return CursorPageDTO.<RecentTransactionDTO>builder()
+                .items(page.stream().map(row -> toDTO(row, profileId)).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Helper Methods
+
+    // Archived rows are all dated before the watermark, so they can only belong on this page if the hot rows ran out
+    // or already went below it
+    private boolean reachesArchive(List<TransactionView> hotRows, int limit) {
+        return hotRows.size() < limit || archiveWatermark.reaches(hotRows.get(hotRows.size() - 1).getDate());
+    }
+
+    private RecentTransactionDTO toDTO(TransactionView row, Long profileId) {
+        return RecentTransactionDTO.builder()
+                .id(row.getId())
+                .profileId(profileId)
+                .icon(row.getIcon())
+                .name(row.getName())
+                .amount(row.getAmount())
+                .date(row.getDate())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .type(row.getType())
+                .build();
+    }
+}
@@ -0,0 +1,217 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.dto.CursorPageDTO;
+import com.quantumsave.quantum_save.dto.ExpenseDTO;
+import com.quantumsave.quantum_save.dto.FilterDTO;
+import com.quantumsave.quantum_save.dto.IncomeDTO;
+import com.quantumsave.quantum_save.entity.ExpenseEntity;
+import com.quantumsave.quantum_save.entity.IncomeEntity;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent.Source;
+import com.quantumsave.quantum_save.repository.TransactionFilterRepository;
+import com.quantumsave.quantum_save.repository.TransactionFilterRepository.SortKey;
+import com.quantumsave.quantum_save.search.TransactionSearchIndex;
+import com.quantumsave.quantum_save.util.CursorCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * /filter: bounded, keyset-paginated income or expense search.
+ * Cursor = sort field, direction, sort value and id of the last row served.
+ * Keywords are resolved to ids by the TransactionSearchIndex when one is enabled; LIKE is the fallback for very broad matches.
+ * Exports walk the same keyset from the first row to the last, one chunk per query.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionFilterService {
+
+    private final TransactionFilterRepository transactionFilterRepository;
+    private final ProfileService profileService;
+    private final Optional<TransactionSearchIndex> transactionSearchIndex;
+    private final ArchiveWatermark archiveWatermark;
+
+    @Value("${quantum.save.filter.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${quantum.save.filter.max-page-size:200}")
+    private int maxPageSize;
+
+    // Above this many matches an IN list costs more than letting the database run the LIKE
+    @Value("${quantum.save.search.max-id-list:5000}")
+    private int maxIdList;
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<IncomeDTO> filterIncomes(FilterDTO filter) {
+        return findPage(filter, Source.INCOME, IncomeEntity.class, IncomeDTO.class, IncomeDTO::getId,
+                dto -> sortValue(filter, dto.getDate(), dto.getAmount(), dto.getName()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ExpenseDTO> filterExpenses(FilterDTO filter) {
+        return findPage(filter, Source.EXPENSE, ExpenseEntity.class, ExpenseDTO.class, ExpenseDTO::getId,
+                dto -> sortValue(filter, dto.getDate(), dto.getAmount(), dto.getName()));
+    }
+
+    // Every matching row in sort order (cursor and limit are ignored), fetched chunkSize rows per query.
+    // The profile is passed in because exports run off the request thread; must run inside the caller's transaction
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<IncomeDTO> streamIncomes(Long profileId, FilterDTO filter, int chunkSize) {
+        return streamAll(profileId, filter, Source.INCOME, IncomeEntity.class, IncomeDTO.class, IncomeDTO::getId,
+                dto -> sortValue(filter, dto.getDate(), dto.getAmount(), dto.getName()), chunkSize);
+    }
+
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<ExpenseDTO> streamExpenses(Long profileId, FilterDTO filter, int chunkSize) {
+        return streamAll(profileId, filter, Source.EXPENSE, ExpenseEntity.class, ExpenseDTO.class, ExpenseDTO::getId,
+                dto -> sortValue(filter, dto.getDate(), dto.getAmount(), dto.getName()), chunkSize);
+    }
+
+    // Helper Methods
+    private <T> CursorPageDTO<T> findPage(FilterDTO filter, Source type, Class<?> entityClass, Class<T> dtoClass,
+                                          Function<T, Long> idOf, Function<T, String> sortValueOf) {
+        Long profileId = profileService.getCurrentProfileId();
+        SortKey sortKey = sortKey(filter.getSortField());
+        boolean descending = "desc".equalsIgnoreCase(filter.getSortOrder());
+        int pageSize = filter.getLimit() == null || filter.getLimit() <= 0
+                ? defaultPageSize : Math.min(filter.getLimit(), maxPageSize);
+
+        // No start date means "from the beginning"; no end date means "up to today" as before
+        LocalDate endDate = filter.getEndDate() != null ? filter.getEndDate() : LocalDate.now();
+
+        Object afterValue = null;
+        Long afterId = null;
+        if (filter.getCursor() != null && !filter.getCursor().isBlank()) {
+            List<String> key = CursorCodec.decode(filter.getCursor(), 4);
+            if (!key.get(0).equals(sortKey.name()) || !key.get(1).equals(descending ? "desc" : "asc")) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            try {
+                afterValue = parseSortValue(sortKey, key.get(2));
+                afterId = Long.parseLong(key.get(3));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        // Ranges that start on or after the archive watermark never touch the archive table
+        boolean includeArchive = archiveWatermark.reaches(filter.getStartDate());
+        Set<Long> ids = matchingIds(profileId, type, filter.getKeyword());
+        // The index only covers the hot table, so no match there is only conclusive when the archive is out of range
+        if (ids != null && ids.isEmpty() && !includeArchive) {
+            return CursorPageDTO.<T>builder().items(List.of()).nextCursor(null).hasMore(false).build();
+        }
+
+        // One extra row tells us whether another page exists
+        List<T> rows = transactionFilterRepository.findPage(entityClass, dtoClass, profileId,
+                filter.getStartDate(), endDate, keywordPattern(filter.getKeyword()), ids,
+                includeArchive, sortKey, descending, afterValue, afterId, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<T> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            T last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(List.of(
+                    sortKey.name(),
+                    descending ? "desc" : "asc",
+                    sortValueOf.apply(last),
+                    idOf.apply(last).toString()));
+        }
+
+        return CursorPageDTO.<T>builder()
+                .items(page)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private <T> Stream<T> streamAll(Long profileId, FilterDTO filter, Source type, Class<?> entityClass,
+                                    Class<T> dtoClass, Function<T, Long> idOf, Function<T, String> sortValueOf,
+                                    int chunkSize) {
+        SortKey sortKey = sortKey(filter.getSortField());
+        boolean descending = "desc".equalsIgnoreCase(filter.getSortOrder());
+        LocalDate endDate = filter.getEndDate() != null ? filter.getEndDate() : LocalDate.now();
+
+        boolean includeArchive = archiveWatermark.reaches(filter.getStartDate());
+        Set<Long> ids = matchingIds(profileId, type, filter.getKeyword());
+        if (ids != null && ids.isEmpty() && !includeArchive) {
+            return Stream.empty();
+        }
+        String keywordPattern = keywordPattern(filter.getKeyword());
+
+        // Each chunk seeks past the last row of the previous one; a short chunk is the last
+        List<T> first = transactionFilterRepository.findPage(entityClass, dtoClass, profileId,
+                filter.getStartDate(), endDate, keywordPattern, ids,
+                includeArchive, sortKey, descending, null, null, chunkSize);
+        return Stream.iterate(first, chunk -> !chunk.isEmpty(), chunk -> {
+            if (chunk.size() < chunkSize) {
+                return List.of();
+            }
+            T last = chunk.get(chunk.size() - 1);
+            return transactionFilterRepository.findPage(entityClass, dtoClass, profileId,
+                    filter.getStartDate(), endDate, keywordPattern, ids,
+                    includeArchive, sortKey, descending,
+                    parseSortValue(sortKey, sortValueOf.apply(last)), idOf.apply(last), chunkSize);
+        }).flatMap(List::stream);
+    }
+
+    // null -> no usable id list (no keyword, no index, or too many matches), filter with LIKE instead
+    private Set<Long> matchingIds(Long profileId, Source type, String keyword) {
+        if (keyword == null || keyword.isEmpty() || transactionSearchIndex.isEmpty()) {
+            return null;
+        }
+        Set<Long> ids = transactionSearchIndex.get().search(profileId, type, keyword);
+        return ids.size() <= maxIdList ? ids : null;
+    }
+
+    // Package-private so exports can reject a bad sort field before their response is committed
+    SortKey sortKey(String sortField) {
+        if (sortField == null || sortField.isBlank()) {
+            return SortKey.DATE;
+        }
+        try {
+            return SortKey.valueOf(sortField.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sort field. Must be 'date', 'amount' or 'name'");
+        }
+    }
+
+    // Mirrors the coalescing in SortKey so the cursor holds exactly the value the query compares against
+    private String sortValue(FilterDTO filter, LocalDate date, BigDecimal amount, String name) {
+        return switch (sortKey(filter.getSortField())) {
+            case DATE -> date.toString();
+            case AMOUNT -> (amount != null ? amount : BigDecimal.ZERO).toPlainString();
+            case NAME -> name != null ? name : "";
+        };
+    }
+
+    private Object parseSortValue(SortKey sortKey, String value) {
+        return switch (sortKey) {
+            case DATE -> LocalDate.parse(value);
+            case AMOUNT -> new BigDecimal(value);
+            case NAME -> value;
+        };
+    }
+
+    // Case-insensitive "contains", with LIKE wildcards in the keyword matched literally
+    private String keywordPattern(String keyword) {
+        String escaped = (keyword != null ? keyword : "").toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
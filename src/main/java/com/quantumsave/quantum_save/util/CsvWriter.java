@@ -0,0 +1,219 @@
+package com.quantumsave.quantum_save.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * RFC 4180 CSV (comma-separated, CRLF line ends, fields quoted only when they contain a comma, quote or line break),
+ * encoded as UTF-8 straight into one reusable byte buffer. Numbers, amounts and dates are formatted digit by digit
+ * without intermediate Strings, so a row costs almost no allocation. Null values are written as empty fields.
+ * Not thread-safe; one writer per export.
+ */
+public final class CsvWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final byte[] digits = new byte[20];
+    private int position;
+    private boolean rowStarted;
+
+    public CsvWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public CsvWriter text(String value) throws IOException {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        boolean quoted = needsQuotes(value);
+        if (quoted) {
+            put('"');
+        }
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '"') {
+                    put('"');
+                }
+                put(c);
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer[position++] = (byte) (0xC0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                ensure(4);
+                buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: not encodable, same replacement as String.getBytes(UTF_8)
+                put('?');
+            } else {
+                ensure(3);
+                buffer[position++] = (byte) (0xE0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        if (quoted) {
+            put('"');
+        }
+        return this;
+    }
+
+    public CsvWriter number(Long value) throws IOException {
+        separator();
+        if (value != null) {
+            putLong(value);
+        }
+        return this;
+    }
+
+    // Plain notation with the value's own scale (1234.50, never 1.2345E+3)
+    public CsvWriter decimal(BigDecimal value) throws IOException {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        int scale = value.scale();
+        if (scale < 0 || scale >= POWERS_OF_TEN.length || value.precision() >= POWERS_OF_TEN.length) {
+            ascii(value.toPlainString());
+            return this;
+        }
+        long unscaled = value.unscaledValue().longValue();
+        if (unscaled < 0) {
+            put('-');
+            unscaled = -unscaled;
+        }
+        putLong(unscaled / POWERS_OF_TEN[scale]);
+        if (scale > 0) {
+            put('.');
+            long fraction = unscaled % POWERS_OF_TEN[scale];
+            for (int i = scale - 1; i >= 0; i--) {
+                put((char) ('0' + fraction / POWERS_OF_TEN[i] % 10));
+            }
+        }
+        return this;
+    }
+
+    // ISO-8601 (yyyy-MM-dd), as LocalDate.toString()
+    public CsvWriter date(LocalDate value) throws IOException {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            ascii(value.toString());
+            return this;
+        }
+        ensure(10);
+        putDigits(year, 4);
+        buffer[position++] = '-';
+        putDigits(value.getMonthValue(), 2);
+        buffer[position++] = '-';
+        putDigits(value.getDayOfMonth(), 2);
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        put('\r');
+        put('\n');
+        rowStarted = false;
+    }
+
+    // Writes out the buffered bytes; the underlying stream is left open
+    public void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        out.flush();
+    }
+
+    // Helper Methods
+    private void separator() throws IOException {
+        if (rowStarted) {
+            put(',');
+        }
+        rowStarted = true;
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void putLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            ascii(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            put('-');
+            value = -value;
+        }
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        ensure(count);
+        while (count > 0) {
+            buffer[position++] = digits[--count];
+        }
+    }
+
+    // Zero-padded to width; the caller has reserved the space
+    private void putDigits(int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += width;
+    }
+
+    private void ascii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            put(value.charAt(i));
+        }
+    }
+
+    private void put(char c) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (byte) c;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.quantumsave.quantum_save.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset cursors: the sort-key values of the last row served, joined and base64url-encoded.
+ * Clients must treat the token as opaque; its layout may change between releases.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "\u001F"; // ASCII unit separator, never part of a sort value
+
+    private CursorCodec() {
+    }
+
+    public static String encode(List<String> values) {
+        String joined = String.join(SEPARATOR, values);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws IllegalArgumentException for tokens that were not produced by encode() with the same arity
+    public static List<String> decode(String cursor, int expectedValues) {
+        String joined;
+        try {
+            joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        List<String> values = List.of(joined.split(SEPARATOR, -1));
+        if (values.size() != expectedValues) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return values;
+    }
+}
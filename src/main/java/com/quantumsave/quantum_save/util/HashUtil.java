@@ -0,0 +1,29 @@
+package com.quantumsave.quantum_save.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Fixed-length keys for requests (export job coalescing, cached export files): the parts are joined and hashed,
+ * so the key is safe to use in an index or a file name whatever the parts contain.
+ */
+public final class HashUtil {
+
+    private static final String SEPARATOR = "\u001F"; // ASCII unit separator, so ("ab", "c") and ("a", "bc") differ
+
+    private HashUtil() {
+    }
+
+    // 64 lowercase hex characters
+    public static String sha256Hex(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
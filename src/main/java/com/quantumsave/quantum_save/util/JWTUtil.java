@@ -12,17 +12,27 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import javax.crypto.SecretKey;            // <-- important import
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
 @Component
 public class JWTUtil {
 
-    @Value("${jwt.secret}")     // BASE64-encoded 32+ byte secret
-    private String secretBase64;
+    // Claims carried alongside the subject (email): the profile id lets requests resolve the profile by primary key
+    public static final String CLAIM_PROFILE_ID = "pid";
+    public static final String CLAIM_FULL_NAME = "name";
 
-    @Value("${jwt.expiration}") // e.g., 86400000 (24h)
-    private long expirationMs;
+    private final String secretBase64;
+    private final long expirationMs;
+
+    public JWTUtil(
+            @Value("${jwt.secret}") String secretBase64,     // BASE64-encoded 32+ byte secret
+            @Value("${jwt.expiration}") long expirationMs    // e.g., 86400000 (24h)
+    ) {
+        this.secretBase64 = secretBase64;
+        this.expirationMs = expirationMs;
+    }
 
     private SecretKey signingKey() {
         byte[] keyBytes = Decoders.BASE64.decode(secretBase64);
@@ -34,6 +44,15 @@ public class JWTUtil {
         return generateToken(Map.of(), subject);
     }
 
+    public String generateToken(Long profileId, String email, String fullName) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_PROFILE_ID, profileId);
+        if (fullName != null) {
+            claims.put(CLAIM_FULL_NAME, fullName);
+        }
+        return generateToken(claims, email);
+    }
+
     public String generateToken(Map<String, Object> extraClaims, String subject) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + expirationMs);
@@ -73,6 +92,28 @@ public class JWTUtil {
         }
     }
 
+    /* --------- Parse + validate in one pass --------- */
+    // Returns the verified, unexpired claims, or null when the token must be rejected
+    public Claims parseValidClaims(String token) {
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(signingKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+
+            if (claims.getSubject() == null || claims.getExpiration() == null
+                    || !claims.getExpiration().after(new Date())) {
+                return null;
+            }
+            return claims;
+
+        } catch (JwtException | IllegalArgumentException e) {
+            // Expired, invalid signature, malformed, unsupported, etc.
+            return null;
+        }
+    }
+
     /* --------- Validate --------- */
     public boolean isTokenValid(String token, String expectedUsername) {
         String username = extractUsername(token);
@@ -0,0 +1,105 @@
+-- Baseline schema (matches what ddl-auto=update produced before migrations were introduced).
+-- Every statement is idempotent: databases created by Hibernate are baselined at version 0 and run this as a no-op,
+-- empty databases get the full schema. Constraint names are the ones Hibernate generated so both paths end up identical.
+
+CREATE TABLE IF NOT EXISTS tbl_profiles (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name         varchar(255),
+    email             varchar(255) UNIQUE,
+    password          varchar(255),
+    profile_image_url varchar(255),
+    created_at        timestamp(6),
+    updated_at        timestamp(6),
+    is_active         boolean,
+    activation_token  varchar(255) UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS tbl_categories (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    type       varchar(255),
+    icon       varchar(255),
+    profile_id bigint NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tbl_incomes (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar(255),
+    icon        varchar(255),
+    date        date,
+    amount      numeric(38, 2),
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    category_id bigint NOT NULL,
+    profile_id  bigint NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tbl_expenses (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar(255),
+    icon        varchar(255),
+    date        date,
+    amount      numeric(38, 2),
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    category_id bigint NOT NULL,
+    profile_id  bigint NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tbl_profile_balances (
+    profile_id    bigint PRIMARY KEY,
+    total_income  numeric(38, 2) NOT NULL,
+    total_expense numeric(38, 2) NOT NULL,
+    updated_at    timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS tbl_daily_rollups (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    profile_id  bigint NOT NULL,
+    category_id bigint NOT NULL,
+    day         date NOT NULL,
+    type        varchar(255) NOT NULL,
+    total       numeric(38, 2) NOT NULL,
+    txn_count   bigint NOT NULL,
+    CONSTRAINT uk_daily_rollups_key UNIQUE (profile_id, category_id, day, type)
+);
+
+CREATE TABLE IF NOT EXISTS tbl_profile_data_versions (
+    profile_id bigint PRIMARY KEY,
+    version    bigint NOT NULL
+);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkriip3m5423be58jfm33c0q8qb') THEN
+        ALTER TABLE tbl_categories ADD CONSTRAINT fkriip3m5423be58jfm33c0q8qb FOREIGN KEY (profile_id) REFERENCES tbl_profiles;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkc22osvblr701clmdm29ajqndp') THEN
+        ALTER TABLE tbl_incomes ADD CONSTRAINT fkc22osvblr701clmdm29ajqndp FOREIGN KEY (category_id) REFERENCES tbl_categories;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkoe2tb8guovgwn0goavk5xmep0') THEN
+        ALTER TABLE tbl_incomes ADD CONSTRAINT fkoe2tb8guovgwn0goavk5xmep0 FOREIGN KEY (profile_id) REFERENCES tbl_profiles;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkbq39u9mib1ssrha1mmx7jhlpm') THEN
+        ALTER TABLE tbl_expenses ADD CONSTRAINT fkbq39u9mib1ssrha1mmx7jhlpm FOREIGN KEY (category_id) REFERENCES tbl_categories;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkb9dn15oqmjwntdh96pvgsls6l') THEN
+        ALTER TABLE tbl_expenses ADD CONSTRAINT fkb9dn15oqmjwntdh96pvgsls6l FOREIGN KEY (profile_id) REFERENCES tbl_profiles;
+    END IF;
+END $$;
+
+-- created_at is the second key of the feed's (date, created_at, id) seek, and a row-value comparison against NULL is
+-- never true, so rows Hibernate created before the column was mapped NOT NULL would be skipped by every page.
+-- Backfill them (last update, else the start of their day) and enforce it; both are no-ops on an enforced column.
+UPDATE tbl_incomes
+   SET created_at = COALESCE(updated_at, date::timestamp, now())
+ WHERE created_at IS NULL;
+
+UPDATE tbl_expenses
+   SET created_at = COALESCE(updated_at, date::timestamp, now())
+ WHERE created_at IS NULL;
+
+ALTER TABLE tbl_incomes ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE tbl_expenses ALTER COLUMN created_at SET NOT NULL;
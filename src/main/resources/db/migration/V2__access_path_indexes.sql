@@ -0,0 +1,14 @@
+-- Composite indexes for the repository access paths.
+-- CONCURRENTLY so existing tables stay writable while the indexes build (Flyway runs this migration outside a transaction).
+
+-- Incomes/expenses: every list/sum query filters on profile_id and a date range or exact date, and the dashboard union,
+-- transaction feed and ...OrderByDateDesc queries order by (date, created_at, id) descending, which a backward scan serves.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_incomes_profile_date ON tbl_incomes (profile_id, date, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expenses_profile_date ON tbl_expenses (profile_id, date, created_at, id);
+
+-- Categories: findByTypeAndProfileId (and findByProfileId through the prefix), existsByNameAndProfileId on every create
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_categories_profile_type ON tbl_categories (profile_id, type);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_categories_profile_name ON tbl_categories (profile_id, name);
+
+-- Daily rollups: analytics read a profile's buckets by day range; the unique key leads with category_id after profile_id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_daily_rollups_profile_day ON tbl_daily_rollups (profile_id, day);
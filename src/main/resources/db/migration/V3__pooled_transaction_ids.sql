@@ -0,0 +1,13 @@
+-- Incomes and expenses move from IDENTITY to pooled sequences (allocationSize = 50 in the entity mapping),
+-- so Hibernate can pre-allocate ids and batch the inserts.
+-- The identity default is dropped: a raw nextval() would hand out ids inside blocks Hibernate has already reserved.
+
+CREATE SEQUENCE IF NOT EXISTS tbl_incomes_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tbl_expenses_seq INCREMENT BY 50;
+
+ALTER TABLE tbl_incomes ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tbl_expenses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- With the pooled optimizer the next block is (nextval - 49 .. nextval], so this makes it start right after the current max id
+SELECT setval('tbl_incomes_seq', GREATEST(COALESCE(MAX(id), 0), 1)) FROM tbl_incomes;
+SELECT setval('tbl_expenses_seq', GREATEST(COALESCE(MAX(id), 0), 1)) FROM tbl_expenses;
@@ -0,0 +1,41 @@
+-- Incomes and expenses move into one table (single-table inheritance on "type"), so cross-type reads
+-- (dashboard, feed, balance and rollup rebuilds) are a single indexed scan instead of a two-table union.
+-- Income ids are kept; expense ids are shifted past the highest income id, because the two tables had their own id spaces.
+
+CREATE TABLE tbl_transactions (
+    id          bigint PRIMARY KEY,
+    type        varchar(16) NOT NULL CHECK (type IN ('income', 'expense')),
+    name        varchar(255),
+    icon        varchar(255),
+    date        date,
+    amount      numeric(38, 2),
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6),
+    category_id bigint NOT NULL REFERENCES tbl_categories,
+    profile_id  bigint NOT NULL REFERENCES tbl_profiles
+);
+
+INSERT INTO tbl_transactions (id, type, name, icon, date, amount, created_at, updated_at, category_id, profile_id)
+SELECT id, 'income', name, icon, date, amount, created_at, updated_at, category_id, profile_id
+  FROM tbl_incomes;
+
+INSERT INTO tbl_transactions (id, type, name, icon, date, amount, created_at, updated_at, category_id, profile_id)
+SELECT e.id + o.offset_id, 'expense', e.name, e.icon, e.date, e.amount, e.created_at, e.updated_at, e.category_id, e.profile_id
+  FROM tbl_expenses e
+ CROSS JOIN (SELECT COALESCE(MAX(id), 0) AS offset_id FROM tbl_incomes) o;
+
+-- Same pooled-sequence scheme as V3: the next block starts right after the current max id
+CREATE SEQUENCE tbl_transactions_seq INCREMENT BY 50;
+SELECT setval('tbl_transactions_seq', GREATEST(COALESCE(MAX(id), 0), 1)) FROM tbl_transactions;
+
+-- Per-type reads (month lists, /filter, latest N per type) and the cross-type history (feed) each get a matching index
+CREATE INDEX idx_transactions_profile_type_date ON tbl_transactions (profile_id, type, date, created_at, id);
+CREATE INDEX idx_transactions_profile_date ON tbl_transactions (profile_id, date, created_at, id);
+
+DROP TABLE tbl_incomes;
+DROP TABLE tbl_expenses;
+DROP SEQUENCE IF EXISTS tbl_incomes_seq;
+DROP SEQUENCE IF EXISTS tbl_expenses_seq;
+
+-- Expense ids changed, so every ETag handed out before this migration must stop validating
+UPDATE tbl_profile_data_versions SET version = version + 1;
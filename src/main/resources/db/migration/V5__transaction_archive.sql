@@ -0,0 +1,39 @@
+-- Cold tier for tbl_transactions: rows dated before the archive watermark are moved here by the scheduled archival job,
+-- so the hot table (and its indexes) only carries the recent history that lists, exports and summaries actually read.
+-- Same columns and ids as tbl_transactions; reads whose range reaches below the watermark union both tables.
+
+CREATE TABLE tbl_transactions_archive (
+    id          bigint PRIMARY KEY,
+    type        varchar(16) NOT NULL CHECK (type IN ('income', 'expense')),
+    name        varchar(255),
+    icon        varchar(255),
+    date        date,
+    amount      numeric(38, 2),
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6),
+    category_id bigint NOT NULL REFERENCES tbl_categories,
+    profile_id  bigint NOT NULL REFERENCES tbl_profiles
+);
+
+CREATE INDEX idx_transactions_archive_profile_type_date ON tbl_transactions_archive (profile_id, type, date, created_at, id);
+CREATE INDEX idx_transactions_archive_profile_date ON tbl_transactions_archive (profile_id, date, created_at, id);
+
+-- Per-month totals of the archived rows, accumulated as rows are moved; balance rebuilds read these instead of the archive
+CREATE TABLE tbl_archived_monthly_totals (
+    profile_id bigint         NOT NULL REFERENCES tbl_profiles,
+    month      date           NOT NULL,
+    type       varchar(16)    NOT NULL,
+    total      numeric(38, 2) NOT NULL,
+    txn_count  bigint         NOT NULL,
+    PRIMARY KEY (profile_id, month, type)
+);
+
+-- Single row. Every archived row is dated before archived_before; published_at is when the current value was set,
+-- and rows are only moved once every node has had time to pick that value up.
+CREATE TABLE tbl_archive_watermark (
+    id              smallint PRIMARY KEY CHECK (id = 1),
+    archived_before date         NOT NULL,
+    published_at    timestamp(6) NOT NULL
+);
+
+INSERT INTO tbl_archive_watermark (id, archived_before, published_at) VALUES (1, DATE '1970-01-01', now());
@@ -0,0 +1,35 @@
+-- Asynchronous export jobs: a submit stores the request here as QUEUED, a worker on any node claims it, writes the
+-- file into its spool directory (or emails it) and records the outcome. Rows outlive restarts, so queued work is
+-- picked up again and jobs whose worker stopped heart-beating are re-queued.
+
+CREATE TABLE tbl_export_jobs (
+    id           uuid PRIMARY KEY,
+    profile_id   bigint       NOT NULL REFERENCES tbl_profiles,
+    -- Hash of delivery, type, format, range, keyword and sort: equal requests share one in-flight job
+    request_key  varchar(64)  NOT NULL,
+    delivery     varchar(16)  NOT NULL CHECK (delivery IN ('DOWNLOAD', 'EMAIL')),
+    type         varchar(16)  NOT NULL CHECK (type IN ('income', 'expense')),
+    format       varchar(16)  NOT NULL,
+    start_date   date         NOT NULL,
+    end_date     date         NOT NULL,
+    keyword      varchar(255),
+    sort_field   varchar(16),
+    sort_order   varchar(16),
+    -- SENDING: an emailed report is being handed to the mail service; never re-queued, so it is sent at most once
+    status       varchar(16)  NOT NULL CHECK (status IN ('QUEUED', 'RUNNING', 'SENDING', 'SUCCEEDED', 'FAILED', 'EXPIRED')),
+    attempts     int          NOT NULL DEFAULT 0,
+    file_size    bigint,
+    error        varchar(500),
+    created_at   timestamp(6) NOT NULL,
+    started_at   timestamp(6),
+    heartbeat_at timestamp(6),
+    finished_at  timestamp(6),
+    expires_at   timestamp(6)
+);
+
+-- At most one queued/running/sending job per profile and request
+CREATE UNIQUE INDEX uq_export_jobs_in_flight ON tbl_export_jobs (profile_id, request_key)
+    WHERE status IN ('QUEUED', 'RUNNING', 'SENDING');
+-- Claiming (oldest queued first), stale-heartbeat recovery and TTL cleanup
+CREATE INDEX idx_export_jobs_status_created ON tbl_export_jobs (status, created_at);
+CREATE INDEX idx_export_jobs_profile_status ON tbl_export_jobs (profile_id, status);
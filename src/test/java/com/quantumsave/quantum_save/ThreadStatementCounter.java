@@ -0,0 +1,27 @@
+package com.quantumsave.quantum_save;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread (registered in application-test.properties).
+ * Session factory statistics are global, so scheduled jobs running meanwhile (the dashboard stream heartbeat, for one)
+ * would otherwise be counted against whatever a test is measuring.
+ */
+public class ThreadStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static long count() {
+        return COUNT.get()[0];
+    }
+}
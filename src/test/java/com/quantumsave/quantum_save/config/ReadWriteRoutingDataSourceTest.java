@@ -0,0 +1,293 @@
+package com.quantumsave.quantum_save.config;
+
+import com.quantumsave.quantum_save.PostgresIntegrationTest;
+import com.quantumsave.quantum_save.dto.CategoryDTO;
+import com.quantumsave.quantum_save.dto.ExpenseDTO;
+import com.quantumsave.quantum_save.entity.ProfileEntity;
+import com.quantumsave.quantum_save.repository.ProfileRepository;
+import com.quantumsave.quantum_save.security.AuthenticatedProfile;
+import com.quantumsave.quantum_save.service.CategoryService;
+import com.quantumsave.quantum_save.service.DashboardService;
+import com.quantumsave.quantum_save.service.DataVersionService;
+import com.quantumsave.quantum_save.service.ExcelExportService;
+import com.quantumsave.quantum_save.service.ExportFileCache;
+import com.quantumsave.quantum_save.service.ExportFormat;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing between two embedded PostgreSQL servers: the shared one as primary and a second, separately migrated one as
+ * the replica. They do not replicate, so which server answered is read from the connection (its port) rather than from
+ * the data. An export read on a lagging replica is cached under the replica's version. The last test makes the replica refuse
+ * connections. The server is stopped only after the replica pool has
+ * been closed, and the context is dropped with the class, so no pool outlives the server it points at.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ReadWriteRoutingDataSourceTest extends PostgresIntegrationTest {
+
+    private static final EmbeddedPostgres REPLICA = startReplica();
+    private static final JdbcTemplate REPLICA_JDBC = new JdbcTemplate(REPLICA.getPostgresDatabase());
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaRoutingPolicy replicaRoutingPolicy;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ExcelExportService excelExportService;
+
+    @Autowired
+    private ExportFileCache exportFileCache;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private int primaryPort;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        registry.add("quantum.save.datasource.replica.url", () -> REPLICA.getJdbcUrl("postgres", "postgres"));
+        // A refused replica fails the lag check in a second rather than the default 30s
+        registry.add("quantum.save.datasource.replica.connection-timeout", () -> "1s");
+    }
+
+    @AfterAll
+    void stopReplica() throws IOException {
+        replicaDataSource.close();
+        REPLICA.close();
+    }
+
+    @BeforeEach
+    void transactions() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        primaryPort = serverPortIn(readWrite);
+    }
+
+    @AfterEach
+    void clearPrincipal() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @Order(1)
+    void readOnlyTransactionsUseReplica() {
+        assertFalse(primaryPort == REPLICA.getPort(), "two distinct servers");
+
+        assertEquals(REPLICA.getPort(), serverPortIn(readOnly));
+    }
+
+    @Test
+    @Order(2)
+    void writesUsePrimary() {
+        Long profileId = newProfile();
+
+        assertEquals(primaryPort, serverPortIn(readWrite));
+        // The servers do not replicate, so the new row shows where the write landed
+        assertEquals(1, profileRows(new JdbcTemplate(primaryDataSource), profileId));
+        assertEquals(0, profileRows(REPLICA_JDBC, profileId));
+    }
+
+    @Test
+    @Order(3)
+    void profileReadsOwnRecentWriteFromPrimary() {
+        Long writer = newProfile();
+        Long other = newProfile();
+
+        asCurrentUser(writer);
+        categoryService.saveCategory(CategoryDTO.builder().name("Rent").type("expense").icon("home").build());
+
+        assertEquals(primaryPort, serverPortIn(readOnly), "writer stays on the primary");
+        asCurrentUser(other);
+        assertEquals(REPLICA.getPort(), serverPortIn(readOnly), "other profiles still use the replica");
+    }
+
+    @Test
+    @Order(4)
+    void conditionalListTagsBodyWithVersionFromSameServer() {
+        Long profileId = newProfile();
+        // The primary has no version row (0); only the replica's 7 can end up in the ETag
+        REPLICA_JDBC.update("INSERT INTO tbl_profile_data_versions (profile_id, version) VALUES (?, 7)", profileId);
+        asCurrentUser(profileId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Integer bodyPort = dataVersionService.readIfModified(
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/categories"), response),
+                () -> jdbcTemplate.queryForObject("SELECT current_setting('port')::int", Integer.class));
+
+        assertEquals(REPLICA.getPort(), bodyPort);
+        assertEquals("\"" + profileId + "-7\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @Order(5)
+    void dashboardRowsComeFromReplicaOnlyWhenItHasReachedTheVersion() {
+        Long profileId = newProfile();
+        // Same profile on both servers with a differently named expense, so the name shows which one answered
+        seedExpense(new JdbcTemplate(primaryDataSource), profileId, "on primary");
+        REPLICA_JDBC.update("INSERT INTO tbl_profiles (id, email, is_active) VALUES (?, ?, true)", profileId, profileId + "@replica");
+        seedExpense(REPLICA_JDBC, profileId, "on replica");
+        REPLICA_JDBC.update("INSERT INTO tbl_profile_data_versions (profile_id, version) VALUES (?, 1)", profileId);
+
+        assertEquals("on replica", latestExpenseName(dashboardService.getDashboardData(profileId, 1)));
+        assertEquals("on primary", latestExpenseName(dashboardService.getDashboardData(profileId, 2)), "replica behind the ETag");
+    }
+
+    @Test
+    @Order(6)
+    void exportReadOnLaggingReplicaIsNotCachedAsCurrent() throws IOException {
+        Long profileId = newProfile();
+        new JdbcTemplate(primaryDataSource).update(
+                "INSERT INTO tbl_profile_data_versions (profile_id, version) VALUES (?, 2)", profileId);
+        REPLICA_JDBC.update("INSERT INTO tbl_profiles (id, email, is_active) VALUES (?, ?, true)", profileId, profileId + "@replica");
+        seedExpense(REPLICA_JDBC, profileId, "on replica");
+        REPLICA_JDBC.update("INSERT INTO tbl_profile_data_versions (profile_id, version) VALUES (?, 1)", profileId);
+        String[] request = {"month", "expense", UUID.randomUUID().toString()};
+
+        exportExpenses(profileId, request);
+        assertTrue(exportFileCache.find(profileId, request).isEmpty(), "rows at version 1 are not a hit for version 2");
+
+        REPLICA_JDBC.update("UPDATE tbl_profile_data_versions SET version = 2 WHERE profile_id = ?", profileId);
+        exportExpenses(profileId, request);
+        assertTrue(exportFileCache.find(profileId, request).isPresent());
+    }
+
+    @Test
+    @Order(7)
+    void readsFallBackToPrimaryWhenReplicaIsDown() {
+        refuseReplicaConnections();
+        replicaRoutingPolicy.checkLag();
+
+        assertFalse(replicaRoutingPolicy.isReplicaUsable());
+        assertEquals(primaryPort, serverPortIn(readOnly));
+    }
+
+    // Helper Methods
+
+    // The port of the server behind the connection the transaction was routed to
+    private int serverPortIn(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT current_setting('port')::int", Integer.class));
+    }
+
+    private void exportExpenses(Long profileId, String[] request) throws IOException {
+        exportFileCache.writeThrough(profileId, request,
+                        out -> excelExportService.writeCurrentMonthExpenses(profileId, ExportFormat.CSV, out))
+                .writeTo(new ByteArrayOutputStream());
+    }
+
+    private static int profileRows(JdbcTemplate server, Long profileId) {
+        return server.queryForObject("SELECT COUNT(*) FROM tbl_profiles WHERE id = ?", Integer.class, profileId);
+    }
+
+    private static void seedExpense(JdbcTemplate server, Long profileId, String name) {
+        Long categoryId = server.queryForObject(
+                "INSERT INTO tbl_categories (name, type, icon, profile_id) VALUES ('Rent', 'expense', 'home', ?) RETURNING id",
+                Long.class, profileId);
+        server.update("""
+                INSERT INTO tbl_transactions (id, type, name, date, amount, created_at, updated_at, category_id, profile_id)
+                VALUES (nextval('tbl_transactions_seq'), 'expense', ?, current_date, 10, now(), now(), ?, ?)
+                """, name, categoryId, profileId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String latestExpenseName(Map<String, Object> dashboard) {
+        List<ExpenseDTO> expenses = (List<ExpenseDTO>) dashboard.get("recent5Expenses");
+        assertEquals(1, expenses.size());
+        return expenses.get(0).getName();
+    }
+
+    private Long newProfile() {
+        return profileRepository.save(ProfileEntity.builder()
+                .fullName("Routing").email(UUID.randomUUID() + "@example.com").password("x").isActive(true).build()).getId();
+    }
+
+    private static void asCurrentUser(Long profileId) {
+        AuthenticatedProfile principal = AuthenticatedProfile.builder().id(profileId).email(profileId + "@example.com").build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    // Down as far as the pool can tell: new connections are refused and the pooled ones are terminated. Run from
+    // template1, since a database that no longer allows connections cannot be used to terminate its own sessions
+    private static void refuseReplicaConnections() {
+        JdbcTemplate admin = new JdbcTemplate(REPLICA.getDatabase("postgres", "template1"));
+        admin.execute("ALTER DATABASE postgres WITH ALLOW_CONNECTIONS false");
+        admin.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE datname = 'postgres'");
+    }
+
+    // Same schema as the primary, as a real replica would have; migrated like spring.flyway.* migrates the primary
+    // (no transactional lock, which CREATE INDEX CONCURRENTLY would wait on forever)
+    private static EmbeddedPostgres startReplica() {
+        try {
+            EmbeddedPostgres replica = EmbeddedPostgres.builder().start();
+            Flyway.configure()
+                    .dataSource(replica.getPostgresDatabase())
+                    .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                    .load()
+                    .migrate();
+            return replica;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded PostgreSQL replica", e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.quantumsave.quantum_save.search;
+
+import com.quantumsave.quantum_save.PostgresIntegrationTest;
+import com.quantumsave.quantum_save.dto.ExpenseDTO;
+import com.quantumsave.quantum_save.entity.CategoryEntity;
+import com.quantumsave.quantum_save.entity.ExpenseEntity;
+import com.quantumsave.quantum_save.entity.ProfileEntity;
+import com.quantumsave.quantum_save.event.ProfileDataChangedEvent.Source;
+import com.quantumsave.quantum_save.repository.CategoryRepository;
+import com.quantumsave.quantum_save.repository.ExpenseRepository;
+import com.quantumsave.quantum_save.repository.ProfileRepository;
+import com.quantumsave.quantum_save.repository.TransactionFilterRepository;
+import com.quantumsave.quantum_save.repository.TransactionFilterRepository.SortKey;
+import com.quantumsave.quantum_save.security.AuthenticatedProfile;
+import com.quantumsave.quantum_save.service.DataVersionService;
+import com.quantumsave.quantum_save.service.ExpenseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The index must return exactly what /filter's LIKE path returns, and stay in step with the profile's data version:
+ * a change that is the only step since the index loaded is applied in place, anything else makes it reload.
+ * Rows inserted behind the index's back (plain SQL, no version bump) show which of the two happened.
+ */
+class TrigramTransactionSearchIndexTest extends PostgresIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.now();
+
+    // Lower-case only outside ASCII: PostgreSQL's LOWER depends on the database locale, Java's ROOT lower-casing does not
+    private static final List<String> NAMES = List.of("Coffee", "COFFEE beans", "coffee-shop", "Toffee", "aaaa", "aaab",
+            "banana", "Bananas", "ab", "x", "100% juice", "under_score", "naïve café", "Rent");
+
+    private static final List<String> NEEDLES = List.of(
+            // Shorter than a trigram
+            "a", "x", "ab", "aa", "co", "é", "%", "_",
+            // Mixed case
+            "COF", "coffee", "oFFe", "BANANA", "rENT",
+            // Overlapping and repeated trigrams: every gram of the needle matches, the needle itself may not
+            "aaa", "aaaa", "aab", "aaaab", "ana", "anana", "nanas", "offee-",
+            // Wildcards matched literally, non-ASCII, no match
+            "100%", "0% j", "r_s", "café", "ïve", "zzz");
+
+    @Autowired
+    private TrigramTransactionSearchIndex searchIndex;
+
+    @Autowired
+    private TransactionFilterRepository transactionFilterRepository;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long profileId;
+    private Long categoryId;
+
+    @BeforeEach
+    void insertRows() {
+        ProfileEntity profile = profileRepository.save(ProfileEntity.builder()
+                .fullName("Search").email(UUID.randomUUID() + "@example.com").password("x").isActive(true).build());
+        profileId = profile.getId();
+        CategoryEntity category = categoryRepository.save(CategoryEntity.builder()
+                .name("Misc").type("expense").icon("misc").profile(profile).build());
+        categoryId = category.getId();
+        expenseRepository.saveAll(NAMES.stream().map(name -> ExpenseEntity.builder()
+                .name(name).amount(BigDecimal.ONE).date(DATE).category(category).profile(profile).build()).toList());
+        AuthenticatedProfile principal = AuthenticatedProfile.builder().id(profileId).email(profileId + "@example.com").build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @AfterEach
+    void clearPrincipal() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void matchesTheLikePath() {
+        for (String needle : NEEDLES) {
+            assertEquals(likeMatches(needle), searchIndex.search(profileId, Source.EXPENSE, needle), needle);
+        }
+    }
+
+    @Test
+    void incomesAreIndexedSeparately() {
+        assertTrue(searchIndex.search(profileId, Source.INCOME, "coffee").isEmpty());
+    }
+
+    @Test
+    void singleVersionStepIsAppliedInPlace() {
+        searchIndex.search(profileId, Source.EXPENSE, "tea");
+        Long hidden = insertBehindIndex("green tea");
+
+        Long added = expenseService.addExpense(expense("iced tea")).getId();
+        assertEquals(Set.of(added), searchIndex.search(profileId, Source.EXPENSE, "tea"), "add applied, no reload");
+
+        expenseService.deleteExpense(added);
+        assertTrue(searchIndex.search(profileId, Source.EXPENSE, "tea").isEmpty(), "delete applied, no reload");
+        assertFalse(likeMatches("tea").isEmpty(), "the hidden row is there for a reload to find: " + hidden);
+    }
+
+    @Test
+    void changeAfterAMissedVersionReloads() {
+        searchIndex.search(profileId, Source.EXPENSE, "tea");
+        Long hidden = insertBehindIndex("green tea");
+        // A change this node never heard about, e.g. one committed on another node
+        dataVersionService.bump(profileId);
+
+        Long added = expenseService.addExpense(expense("iced tea")).getId();
+
+        assertEquals(Set.of(hidden, added), searchIndex.search(profileId, Source.EXPENSE, "tea"));
+    }
+
+    @Test
+    void versionChangedSinceLoadReloadsOnSearch() {
+        searchIndex.search(profileId, Source.EXPENSE, "tea");
+        Long hidden = insertBehindIndex("green tea");
+
+        dataVersionService.bump(profileId);
+
+        assertEquals(Set.of(hidden), searchIndex.search(profileId, Source.EXPENSE, "tea"));
+    }
+
+    // Helper Methods
+
+    // /filter without an id list, keyword escaped as TransactionFilterService does
+    private Set<Long> likeMatches(String needle) {
+        String pattern = "%" + needle.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return transactionFilterRepository.findPage(ExpenseEntity.class, ExpenseDTO.class, profileId, DATE, DATE,
+                        pattern, null, false, SortKey.DATE, false, null, null, 1000)
+                .stream().map(ExpenseDTO::getId).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    // Committed without a version bump or an event, so only a reload of the index can pick it up
+    private Long insertBehindIndex(String name) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO tbl_transactions (id, type, name, date, amount, created_at, updated_at, category_id, profile_id)
+                VALUES (nextval('tbl_transactions_seq'), 'expense', ?, ?, 1, now(), now(), ?, ?)
+                RETURNING id
+                """, Long.class, name, DATE, categoryId, profileId);
+    }
+
+    private ExpenseDTO expense(String name) {
+        return ExpenseDTO.builder().name(name).categoryId(categoryId).amount(BigDecimal.ONE).date(DATE).build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.quantumsave.quantum_save.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantumsave.quantum_save.PostgresIntegrationTest;
+import com.quantumsave.quantum_save.dto.DashboardDeltaDTO;
+import com.quantumsave.quantum_save.dto.ExpenseDTO;
+import com.quantumsave.quantum_save.entity.CategoryEntity;
+import com.quantumsave.quantum_save.entity.ProfileEntity;
+import com.quantumsave.quantum_save.repository.CategoryRepository;
+import com.quantumsave.quantum_save.repository.ProfileRepository;
+import com.quantumsave.quantum_save.security.AuthenticatedProfile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Deltas reach other nodes: a second DashboardChangeChannel, listening on its own connection like another node would,
+ * receives what this node commits, with the committed totals and data version, and nothing from a rolled-back change.
+ */
+class DashboardChangeChannelTest extends PostgresIntegrationTest {
+
+    private static final long PROBE_PROFILE_ID = -1L;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private final BlockingQueue<DashboardDeltaDTO> received = new LinkedBlockingQueue<>();
+    private DashboardChangeChannel otherNode;
+    private Long profileId;
+
+    @BeforeEach
+    void startOtherNode() throws InterruptedException {
+        ProfileEntity profile = profileRepository.save(ProfileEntity.builder()
+                .fullName("Stream").email(UUID.randomUUID() + "@example.com").password("x").isActive(true).build());
+        profileId = profile.getId();
+        otherNode = new DashboardChangeChannel(jdbcTemplate, objectMapper, dataSourceProperties, Duration.ofMillis(100));
+        otherNode.subscribe((id, delta) -> {
+            if (id.equals(profileId) || id == PROBE_PROFILE_ID) {
+                received.add(delta);
+            }
+        });
+        otherNode.start();
+        awaitListening();
+    }
+
+    @AfterEach
+    void stopOtherNode() {
+        otherNode.stop();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void committedChangeReachesOtherNodeWithItsVersion() throws InterruptedException {
+        Long categoryId = categoryRepository.save(CategoryEntity.builder()
+                .name("Rent").type("expense").icon("home").profile(profileRepository.getReferenceById(profileId)).build()).getId();
+        asCurrentUser(profileId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            expenseService.addExpense(expense("rolled back", categoryId, "99.00"));
+            status.setRollbackOnly();
+        });
+        expenseService.addExpense(expense("committed", categoryId, "12.50"));
+
+        // NOTIFY goes out in commit order, so the rolled-back change would have arrived first
+        DashboardDeltaDTO delta = received.poll(10, TimeUnit.SECONDS);
+        assertNotNull(delta, "no delta reached the other node");
+        assertEquals("committed", delta.getTransaction().getName());
+        assertEquals("created", delta.getAction());
+        assertEquals(0, new BigDecimal("12.50").compareTo(delta.getTotalExpense()));
+        assertEquals(dataVersionService.currentVersion(profileId), delta.getVersion());
+    }
+
+    // Helper Methods
+
+    // LISTEN runs on the channel's own thread; probes are published until one arrives
+    private void awaitListening() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            otherNode.publish(PROBE_PROFILE_ID, DashboardDeltaDTO.builder().type("probe").build());
+            if (received.poll(100, TimeUnit.MILLISECONDS) != null) {
+                // Probes sent before the first one arrived may still be on their way
+                while (received.poll(200, TimeUnit.MILLISECONDS) != null) {
+                }
+                return;
+            }
+        }
+        throw new AssertionError("the other node never started listening");
+    }
+
+    private static ExpenseDTO expense(String name, Long categoryId, String amount) {
+        return ExpenseDTO.builder().name(name).categoryId(categoryId).amount(new BigDecimal(amount)).date(LocalDate.now()).build();
+    }
+
+    private static void asCurrentUser(Long profileId) {
+        AuthenticatedProfile principal = AuthenticatedProfile.builder().id(profileId).email(profileId + "@example.com").build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.PostgresIntegrationTest;
+import com.quantumsave.quantum_save.dto.FilterDTO;
+import com.quantumsave.quantum_save.entity.CategoryEntity;
+import com.quantumsave.quantum_save.entity.ProfileEntity;
+import com.quantumsave.quantum_save.repository.CategoryRepository;
+import com.quantumsave.quantum_save.repository.ProfileRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exports a 1M-row profile. Tagged "large" and only run with -Plarge-tests, which caps the test JVM's heap at 128MB:
+ * the export fits only while rows are streamed instead of being loaded as a list. Current-month downloads read
+ * through the repository cursor (streamDTOsByProfileIdAndDateBetween); range exports through keyset chunks.
+ */
+@Tag("large")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExcelExportServiceLargeTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = 1_000_000;
+
+    @Autowired
+    private ExcelExportService excelExportService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+    private Long profileId;
+
+    // Loaded once for the class. Rows are generated in the database, so the test itself never holds them either
+    @BeforeAll
+    void insertRows() {
+        ProfileEntity profile = profileRepository.save(ProfileEntity.builder()
+                .fullName("Large Export").email(UUID.randomUUID() + "@example.com").password("x").isActive(true).build());
+        CategoryEntity category = categoryRepository.save(CategoryEntity.builder()
+                .name("Groceries").type("expense").icon("cart").profile(profile).build());
+        profileId = profile.getId();
+
+        jdbcTemplate.update("""
+                INSERT INTO tbl_transactions (id, type, name, icon, date, amount, created_at, updated_at, category_id, profile_id)
+                SELECT base.max_id + g, 'expense', 'expense ' || g, NULL, ?::date + (g % ?), (g % 997) * 1.25,
+                       now(), now(), ?, ?
+                  FROM generate_series(1, ?) g, (SELECT COALESCE(MAX(id), 0) AS max_id FROM tbl_transactions) base
+                """, monthStart, monthStart.lengthOfMonth(), category.getId(), profileId, ROWS);
+        // Keep the pooled id sequence ahead of the rows inserted behind its back
+        jdbcTemplate.queryForObject("SELECT setval('tbl_transactions_seq', (SELECT MAX(id) FROM tbl_transactions) + 50)", Long.class);
+        // What autovacuum would do after a load this size; without statistics the queries get planned for an empty table
+        jdbcTemplate.execute("ANALYZE tbl_transactions");
+    }
+
+    @Test
+    void exportsMillionRowMonthCsvFromCursor() {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        excelExportService.writeCurrentMonthExpenses(profileId, ExportFormat.CSV, out);
+
+        assertEquals(ROWS + 1, out.lines, "header plus one line per row");
+    }
+
+    @Test
+    void exportsMillionRowMonthXlsxFromCursor(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("expenses.xlsx");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            excelExportService.writeCurrentMonthExpenses(profileId, ExportFormat.XLSX, out);
+        }
+
+        assertEquals(ROWS + 1, countSheetRows(file), "header plus one row per expense");
+    }
+
+    @Test
+    void exportsMillionRowRangeCsvInChunks() {
+        FilterDTO filter = new FilterDTO();
+        filter.setType("expense");
+        filter.setStartDate(monthStart);
+        filter.setEndDate(monthStart.withDayOfMonth(monthStart.lengthOfMonth()));
+        excelExportService.checkRangeExport(filter);
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        excelExportService.writeRange(profileId, filter, ExportFormat.CSV, out);
+
+        assertEquals(ROWS + 1, out.lines, "header plus one line per row");
+    }
+
+    // Helper Methods
+
+    // Counts <row elements in the sheet part while unzipping, so the workbook is never loaded
+    private static long countSheetRows(Path file) throws IOException {
+        byte[] tag = "<row ".getBytes(StandardCharsets.US_ASCII);
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry sheet = zip.getEntry("xl/worksheets/sheet1.xml");
+            if (sheet == null) {
+                throw new AssertionError("workbook has no first sheet");
+            }
+            try (InputStream in = zip.getInputStream(sheet)) {
+                return countOccurrences(in, tag);
+            }
+        }
+    }
+
+    // "<row " has no repeated prefix, so a plain running match never misses an occurrence
+    private static long countOccurrences(InputStream in, byte[] tag) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long count = 0;
+        int matched = 0;
+        for (int read; (read = in.read(buffer)) > 0; ) {
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == tag[matched]) {
+                    if (++matched == tag.length) {
+                        count++;
+                        matched = 0;
+                    }
+                } else {
+                    matched = buffer[i] == tag[0] ? 1 : 0;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Discards the export, keeping only its line count
+    private static final class LineCountingOutputStream extends OutputStream {
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
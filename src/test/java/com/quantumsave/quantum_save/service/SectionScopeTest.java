@@ -0,0 +1,74 @@
+package com.quantumsave.quantum_save.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The load's timeout covers waiting for a section permit, and every permit comes back once its section has run.
+ */
+class SectionScopeTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(200);
+
+    private final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("section-test-");
+
+    @AfterEach
+    void closeExecutor() {
+        executor.close();
+    }
+
+    @Test
+    void forkFailsAtDeadlineWhenNoPermitIsFree() throws InterruptedException {
+        Semaphore permits = new Semaphore(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SectionScope scope = new SectionScope(executor, permits, TIMEOUT);
+        FutureTask<Void> holder = scope.fork(() -> {
+            release.await();
+            return null;
+        });
+
+        long start = System.nanoTime();
+        RuntimeException e = assertThrows(RuntimeException.class, () -> scope.fork(() -> "never runs"));
+        long waitedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(e.getMessage().contains("timed out"), e.getMessage());
+        assertTrue(waitedMs < TIMEOUT.toMillis() * 5, "gave up near the deadline, waited " + waitedMs + " ms");
+        assertTrue(holder.isCancelled(), "sections already forked are cancelled");
+        awaitPermits(permits, 1);
+    }
+
+    @Test
+    void permitsAreReturnedAfterJoin() throws InterruptedException {
+        Semaphore permits = new Semaphore(2);
+        SectionScope scope = new SectionScope(executor, permits, TIMEOUT);
+        FutureTask<String> first = scope.fork(() -> "a");
+        FutureTask<String> second = scope.fork(() -> "b");
+
+        scope.join();
+
+        assertEquals("a", first.resultNow());
+        assertEquals("b", second.resultNow());
+        awaitPermits(permits, 2);
+    }
+
+    // Helper Methods
+
+    // A permit is released when the section's thread leaves run(), which can be just after join() or cancel() returns
+    private static void awaitPermits(Semaphore permits, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (permits.availablePermits() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, permits.availablePermits());
+    }
+}
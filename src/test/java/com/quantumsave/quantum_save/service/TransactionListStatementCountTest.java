@@ -0,0 +1,225 @@
+package com.quantumsave.quantum_save.service;
+
+import com.quantumsave.quantum_save.PostgresIntegrationTest;
+import com.quantumsave.quantum_save.ThreadStatementCounter;
+import com.quantumsave.quantum_save.entity.CategoryEntity;
+import com.quantumsave.quantum_save.entity.ExpenseEntity;
+import com.quantumsave.quantum_save.entity.IncomeEntity;
+import com.quantumsave.quantum_save.entity.ProfileEntity;
+import com.quantumsave.quantum_save.repository.CategoryRepository;
+import com.quantumsave.quantum_save.repository.ExpenseRepository;
+import com.quantumsave.quantum_save.repository.IncomeRepository;
+import com.quantumsave.quantum_save.repository.ProfileRepository;
+import com.quantumsave.quantum_save.security.AuthenticatedProfile;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Income and expense list reads must not issue a select per row or per category: the statement count for a profile
+ * with one transaction of each type and for one with many (each in its own category) has to be the same. The
+ * second-level cache is evicted before each measurement so cached categories cannot hide lazy loads.
+ */
+class TransactionListStatementCountTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = 25;
+    private static final int LATEST = 5;
+    // Today, so the current-month service lists see the rows too
+    private static final LocalDate DATE = LocalDate.now();
+
+    @Autowired
+    private IncomeService incomeService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long smallProfileId;
+    private Long largeProfileId;
+
+    @BeforeEach
+    void insertRows() {
+        smallProfileId = profileWithTransactions(1);
+        largeProfileId = profileWithTransactions(ROWS);
+    }
+
+    @AfterEach
+    void clearPrincipal() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Expense entity lists: the category is dereferenced through toDTO, as the services do
+
+    @Test
+    void expensesByProfileUseConstantStatementCount() {
+        assertConstantStatementCount(ROWS, profileId -> mapExpenses(() -> expenseRepository.findByProfileIdOrderByDateDesc(profileId)));
+    }
+
+    @Test
+    void latestExpensesUseConstantStatementCount() {
+        assertConstantStatementCount(LATEST, profileId -> mapExpenses(() -> expenseRepository.findTop5ByProfileIdOrderByDateDesc(profileId)));
+    }
+
+    @Test
+    void expensesBetweenDatesUseConstantStatementCount() {
+        assertConstantStatementCount(ROWS, profileId -> mapExpenses(() -> expenseRepository.findByProfileIdAndDateBetween(profileId, DATE, DATE)));
+    }
+
+    @Test
+    void expensesOnDateUseConstantStatementCount() {
+        assertConstantStatementCount(ROWS, profileId -> mapExpenses(() -> expenseRepository.findByProfileIdAndDate(profileId, DATE)));
+    }
+
+    // Expense DTO projections
+
+    @Test
+    void expenseDtoListUsesConstantStatementCount() {
+        assertConstantStatementCount(ROWS, profileId ->
+                expenseRepository.findDTOsByProfileIdAndDateBetween(profileId, DATE, DATE).size());
+    }
+
+    @Test
+    void expenseDtoStreamUsesConstantStatementCount() {
+        assertConstantStatementCount(ROWS, profileId -> transactionTemplate.execute(status -> {
+            try (var rows = expenseRepository.streamDTOsByProfileIdAndDateBetween(profileId, DATE, DATE)) {
+                return rows.count();
+            }
+        }));
+    }
+
+    // Expense service lists
+
+    @Test
+    void expenseServiceListsUseConstantStatementCount() {
+        assertConstantStatementCount(ROWS, profileId -> expenseService.getExpensesForUserOnDate(profileId, DATE).size());
+        assertConstantStatementCount(ROWS, profileId -> asCurrentUser(profileId, () -> expenseService.getCurrentMonthExpensesForCurrentUser().size()));
+        assertConstantStatementCount(LATEST, profileId -> asCurrentUser(profileId, () -> expenseService.getLatest5ExpensesForCurrentUser().size()));
+    }
+
+    // Income entity lists
+
+    @Test
+    void incomesByProfileUseConstantStatementCount() {
+        assertConstantStatementCount(ROWS, profileId -> mapIncomes(() -> incomeRepository.findByProfileIdOrderByDateDesc(profileId)));
+    }
+
+    @Test
+    void latestIncomesUseConstantStatementCount() {
+        assertConstantStatementCount(LATEST, profileId -> mapIncomes(() -> incomeRepository.findTop5ByProfileIdOrderByDateDesc(profileId)));
+    }
+
+    @Test
+    void incomesBetweenDatesUseConstantStatementCount() {
+        assertConstantStatementCount(ROWS, profileId -> mapIncomes(() -> incomeRepository.findByProfileIdAndDateBetween(profileId, DATE, DATE)));
+    }
+
+    // Income DTO projections
+
+    @Test
+    void incomeDtoListUsesConstantStatementCount() {
+        assertConstantStatementCount(ROWS, profileId ->
+                incomeRepository.findDTOsByProfileIdAndDateBetween(profileId, DATE, DATE).size());
+    }
+
+    @Test
+    void incomeDtoStreamUsesConstantStatementCount() {
+        assertConstantStatementCount(ROWS, profileId -> transactionTemplate.execute(status -> {
+            try (var rows = incomeRepository.streamDTOsByProfileIdAndDateBetween(profileId, DATE, DATE)) {
+                return rows.count();
+            }
+        }));
+    }
+
+    // Income service lists
+
+    @Test
+    void incomeServiceListsUseConstantStatementCount() {
+        assertConstantStatementCount(ROWS, profileId -> asCurrentUser(profileId, () -> incomeService.getCurrentMonthIncomesForCurrentUser().size()));
+        assertConstantStatementCount(LATEST, profileId -> asCurrentUser(profileId, () -> incomeService.getLatest5IncomesForCurrentUser().size()));
+    }
+
+    // Helper Methods
+
+    // The small profile has one row of each type, the large one ROWS; largeRows is what the listing returns for it
+    private void assertConstantStatementCount(int largeRows, LongFunction<Number> listing) {
+        long small = countStatements(() -> assertEquals(1, listing.apply(smallProfileId).intValue()));
+        long large = countStatements(() -> assertEquals(largeRows, listing.apply(largeProfileId).intValue()));
+        assertEquals(small, large, "statements for 1 row vs " + largeRows + " rows");
+    }
+
+    // Everything measured runs on the test thread, so background jobs never add to the count
+    private long countStatements(Runnable action) {
+        entityManagerFactory.getCache().evictAll();
+        ThreadStatementCounter.reset();
+        action.run();
+        return ThreadStatementCounter.count();
+    }
+
+    // toList(), not count(): count() on a sized stream skips the mapping, and with it any lazy load
+    private int mapExpenses(Supplier<List<ExpenseEntity>> query) {
+        return transactionTemplate.execute(status -> query.get().stream().map(ExpenseService::toDTO).toList().size());
+    }
+
+    private int mapIncomes(Supplier<List<IncomeEntity>> query) {
+        return transactionTemplate.execute(status -> query.get().stream().map(IncomeService::toDTO).toList().size());
+    }
+
+    // The services resolve the current profile from the principal JwtRequestFilter stores, without a query
+    private Number asCurrentUser(Long profileId, Supplier<Number> listing) {
+        AuthenticatedProfile principal = AuthenticatedProfile.builder().id(profileId).email(profileId + "@example.com").build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        return listing.get();
+    }
+
+    private Long profileWithTransactions(int count) {
+        ProfileEntity profile = profileRepository.save(ProfileEntity.builder()
+                .fullName("Statement Count").email(UUID.randomUUID() + "@example.com").password("x").isActive(true).build());
+        List<IncomeEntity> incomes = new ArrayList<>(count);
+        List<ExpenseEntity> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CategoryEntity incomeCategory = categoryRepository.save(CategoryEntity.builder()
+                    .name("Income " + i).type("income").icon("income-" + i).profile(profile).build());
+            CategoryEntity expenseCategory = categoryRepository.save(CategoryEntity.builder()
+                    .name("Expense " + i).type("expense").icon("expense-" + i).profile(profile).build());
+            incomes.add(IncomeEntity.builder()
+                    .name("income " + i).amount(BigDecimal.TEN).date(DATE).category(incomeCategory).profile(profile).build());
+            expenses.add(ExpenseEntity.builder()
+                    .name("expense " + i).amount(BigDecimal.TEN).date(DATE).category(expenseCategory).profile(profile).build());
+        }
+        incomeRepository.saveAll(incomes);
+        expenseRepository.saveAll(expenses);
+        return profile.getId();
+    }
+}
@@ -0,0 +1,110 @@
+package com.quantumsave.quantum_save.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * CsvWriter output compared with what the JDK's own formatting and UTF-8 encoding produce for the same values.
+ */
+class CsvWriterTest {
+
+    @Test
+    void plainTextIsNotQuoted() throws IOException {
+        assertEquals("Rent,Food and drink\r\n", csv(w -> w.text("Rent").text("Food and drink")));
+    }
+
+    @Test
+    void fieldsWithSeparatorsQuotesOrLineBreaksAreQuoted() throws IOException {
+        assertEquals("\"a,b\"\r\n", csv(w -> w.text("a,b")));
+        assertEquals("\"say \"\"hi\"\"\"\r\n", csv(w -> w.text("say \"hi\"")));
+        assertEquals("\"line\r\nbreak\"\r\n", csv(w -> w.text("line\r\nbreak")));
+        assertEquals("\"cr\ronly\",\"lf\nonly\"\r\n", csv(w -> w.text("cr\ronly").text("lf\nonly")));
+    }
+
+    @Test
+    void nonAsciiTextIsEncodedAsUtf8() throws IOException {
+        String text = "Café, €5, 日本, 😀";
+        assertArrayEquals(("\"" + text + "\"\r\n").getBytes(StandardCharsets.UTF_8), bytes(w -> w.text(text)));
+    }
+
+    @Test
+    void unpairedSurrogateIsReplacedAsStringGetBytesDoes() throws IOException {
+        String text = "a\uD83Db\uDE00";
+        assertArrayEquals((text + "\r\n").getBytes(StandardCharsets.UTF_8), bytes(w -> w.text(text)));
+    }
+
+    // Longer than the 64 KB buffer, with multi-byte characters straddling its end
+    @Test
+    void textLargerThanTheBufferIsWrittenWhole() throws IOException {
+        String text = "é€😀x".repeat(10_000);
+        assertArrayEquals((text + "\r\n").getBytes(StandardCharsets.UTF_8), bytes(w -> w.text(text)));
+    }
+
+    @Test
+    void nullCellsAreEmptyFields() throws IOException {
+        assertEquals(",,,,\r\n", csv(w -> w.text(null).number(null).decimal(null).date(null).text(null)));
+        assertEquals("a,,b\r\n", csv(w -> w.text("a").decimal(null).text("b")));
+    }
+
+    @Test
+    void numbersMatchLongToString() throws IOException {
+        for (long value : new long[]{0, 7, -7, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(value + "\r\n", csv(w -> w.number(value)));
+        }
+    }
+
+    @Test
+    void decimalsMatchToPlainString() throws IOException {
+        String[] values = {"0", "0.00", "12", "1234.50", "-0.05", "-1234.567", "0.001",
+                "1E+3", "99999999999999999.99", "12345678901234567890.12", "-12345678901234567890.12"};
+        for (String value : values) {
+            BigDecimal decimal = new BigDecimal(value);
+            assertEquals(decimal.toPlainString() + "\r\n", csv(w -> w.decimal(decimal)), value);
+        }
+    }
+
+    @Test
+    void datesMatchLocalDateToString() throws IOException {
+        LocalDate[] dates = {LocalDate.of(2026, 1, 5), LocalDate.of(2026, 12, 31), LocalDate.of(45, 3, 9),
+                LocalDate.of(10000, 1, 1), LocalDate.of(-1, 6, 15)};
+        for (LocalDate date : dates) {
+            assertEquals(date + "\r\n", csv(w -> w.date(date)));
+        }
+    }
+
+    @Test
+    void rowsAreSeparatedByCrlf() throws IOException {
+        assertEquals("1,Rent,2026-10-01\r\n2,Food,2026-10-02\r\n", csv(w -> {
+            w.number(1L).text("Rent").date(LocalDate.of(2026, 10, 1)).endRow();
+            w.number(2L).text("Food").date(LocalDate.of(2026, 10, 2));
+        }));
+    }
+
+    // Helper Methods
+
+    private interface Row {
+        void write(CsvWriter writer) throws IOException;
+    }
+
+    private static String csv(Row row) throws IOException {
+        return new String(bytes(row), StandardCharsets.UTF_8);
+    }
+
+    // One row, ended and flushed
+    private static byte[] bytes(Row row) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter writer = new CsvWriter(out);
+        row.write(writer);
+        writer.endRow();
+        writer.flush();
+        return out.toByteArray();
+    }
+}